@@ -1,6 +1,16 @@
 package org.springframework.aop;
 
+import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.adapter.MethodBeforeAdviceInterceptor;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AdvisedSupport 是 AOP 框架中的核心配置类，封装了生成代理对象所需的全部元信息。
@@ -10,6 +20,8 @@ import org.aopalliance.intercept.MethodInterceptor;
  * 1. 保存目标对象（TargetSource）
  * 2. 保存方法拦截器（MethodInterceptor）
  * 3. 保存方法匹配器（MethodMatcher，用于决定哪些方法需要被拦截）
+ * 4. 保存多个切面（PointcutAdvisor），同一个 bean 可以同时应用多个切面
+ * 5. 为每个方法计算一次不可变的拦截器链，代理调用时直接按下标执行
  * <p>
  * ✅ 使用场景：
  * 在创建 AOP 代理对象（如 JdkDynamicAopProxy）时，将此类作为配置传入，代理类根据这些信息判断：
@@ -21,6 +33,10 @@ import org.aopalliance.intercept.MethodInterceptor;
  * - 用户配置 AdvisedSupport
  * - 代理类使用 getTargetSource(), getMethodInterceptor(), getMethodMatcher() 获取配置信息
  * - 在 invoke() 时决定是否执行增强逻辑
+ * <p>
+ * 拦截器链的顺序：先是 setMethodInterceptor 设置的拦截器（若方法匹配），再按添加顺序排列各个切面的拦截器。
+ * 代理创建时通过 {@link #prepareInterceptors(Class, Class)} 预先计算代理类型上所有方法的拦截器链，
+ * 之后修改配置会清空缓存，下次调用时重新计算。
  */
 public class AdvisedSupport {
 
@@ -35,6 +51,14 @@ public class AdvisedSupport {
     // 方法匹配器，决定哪些方法应该被拦截（基于切点表达式）
     private MethodMatcher methodMatcher;
 
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+    // 切面列表，按添加顺序组成拦截器链
+    private final List<PointcutAdvisor> advisors = new ArrayList<>();
+
+    // 方法 -> 拦截器链，空数组表示不需要拦截。每个方法只做一次静态匹配，修改目标对象、拦截器或切面时清空
+    private final Map<Method, MethodInterceptor[]> interceptorCache = new ConcurrentHashMap<>(32);
+
     public boolean isProxyTargetClass() {
         return proxyTargetClass;
     }
@@ -49,6 +73,7 @@ public class AdvisedSupport {
 
     public void setTargetSource(TargetSource targetSource) {
         this.targetSource = targetSource;
+        interceptorCache.clear();
     }
 
     public MethodInterceptor getMethodInterceptor() {
@@ -57,6 +82,7 @@ public class AdvisedSupport {
 
     public void setMethodInterceptor(MethodInterceptor methodInterceptor) {
         this.methodInterceptor = methodInterceptor;
+        interceptorCache.clear();
     }
 
     public MethodMatcher getMethodMatcher() {
@@ -65,5 +91,80 @@ public class AdvisedSupport {
 
     public void setMethodMatcher(MethodMatcher methodMatcher) {
         this.methodMatcher = methodMatcher;
+        interceptorCache.clear();
+    }
+
+    /**
+     * 添加一个切面，切面的通知必须是 {@link MethodInterceptor} 或 {@link MethodBeforeAdvice}
+     */
+    public void addAdvisor(PointcutAdvisor advisor) {
+        Advice advice = advisor.getAdvice();
+        if (!(advice instanceof MethodInterceptor) && !(advice instanceof MethodBeforeAdvice)) {
+            throw new IllegalArgumentException("Advice must be a MethodInterceptor or MethodBeforeAdvice: " + advice);
+        }
+        advisors.add(advisor);
+        interceptorCache.clear();
+    }
+
+    public List<PointcutAdvisor> getAdvisors() {
+        return Collections.unmodifiableList(advisors);
+    }
+
+    /**
+     * 预先计算代理类型上所有可被拦截的 public 方法的拦截器链，代理创建时调用
+     *
+     * @param proxiedType 代理的接口或父类
+     * @param targetClass 目标对象的类型
+     */
+    public void prepareInterceptors(Class<?> proxiedType, Class<?> targetClass) {
+        for (Method method : proxiedType.getMethods()) {
+            int modifiers = method.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+                getInterceptors(method, targetClass);
+            }
+        }
+    }
+
+    /**
+     * 获取方法的拦截器链，结果按方法缓存，之后的调用不再经过 {@link MethodMatcher#matches(Method, Class)}
+     *
+     * @param method      被调用的方法
+     * @param targetClass 目标对象的类型
+     * @return 按执行顺序排列的拦截器，不需要拦截时返回空数组；调用方不能修改返回的数组
+     */
+    public MethodInterceptor[] getInterceptors(Method method, Class<?> targetClass) {
+        MethodInterceptor[] interceptors = interceptorCache.get(method);
+        if (interceptors == null) {
+            interceptors = buildInterceptors(method, targetClass);
+            interceptorCache.put(method, interceptors);
+        }
+        return interceptors;
+    }
+
+    /**
+     * 判断方法是否需要拦截
+     *
+     * @param method      被调用的方法
+     * @param targetClass 目标对象的类型
+     * @return 是否需要执行方法拦截器
+     */
+    public boolean isMethodAdvised(Method method, Class<?> targetClass) {
+        return getInterceptors(method, targetClass).length > 0;
+    }
+
+    private MethodInterceptor[] buildInterceptors(Method method, Class<?> targetClass) {
+        List<MethodInterceptor> interceptors = new ArrayList<>();
+        if (methodInterceptor != null && methodMatcher != null && methodMatcher.matches(method, targetClass)) {
+            interceptors.add(methodInterceptor);
+        }
+        for (PointcutAdvisor advisor : advisors) {
+            Pointcut pointcut = advisor.getPointcut();
+            if (pointcut.getClassFilter().matches(targetClass) && pointcut.getMethodMatcher().matches(method, targetClass)) {
+                Advice advice = advisor.getAdvice();
+                interceptors.add(advice instanceof MethodInterceptor
+                        ? (MethodInterceptor) advice : new MethodBeforeAdviceInterceptor((MethodBeforeAdvice) advice));
+            }
+        }
+        return interceptors.isEmpty() ? NO_INTERCEPTORS : interceptors.toArray(NO_INTERCEPTORS);
     }
 }
@@ -1,16 +1,39 @@
 package org.springframework.aop.framework;
 
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.NoOp;
 import org.springframework.aop.AdvisedSupport;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 基于CGLIB的AOP代理实现类
  * <p>
  * 当目标对象没有实现接口时，使用CGLIB库创建动态代理来应用AOP增强
+ * <p>
+ * 生成的代理类按目标类型、接口以及需要拦截的方法集合缓存，同一形状的代理共享一个代理类，
+ * 每个代理对象只在实例上设置自己的回调。代理类通过 {@link CallbackFilter} 为每个方法选择回调：
+ * 1. 需要拦截的方法交给 {@link DynamicAdvisedInterceptor} 执行拦截器链
+ * 2. 不需要拦截的 public 方法交给 {@link Dispatcher}，由代理类直接调用目标对象，不经过反射
+ * 3. finalize 不做代理
+ * <p>
+ * 代理对象不执行构造器创建，目标类的构造器只在创建目标对象时执行一次。运行环境不支持时退回到代理类声明的构造器：
+ * 优先使用无参构造器，否则使用参数最少的构造器并传入各参数类型的默认值（null、0、false），构造器中的调用不会被拦截。
+ * 方法的路由在创建代理时确定，之后修改 AdvisedSupport 只影响原本就需要拦截的方法。
  *
  * @see AopProxy
  *
@@ -19,6 +42,22 @@ import java.lang.reflect.Method;
  */
 public class CglibAopProxy implements AopProxy{
 
+    private static final int AOP_PROXY = 0;
+
+    private static final int DISPATCH_TARGET = 1;
+
+    private static final int NO_OVERRIDE = 2;
+
+    private static final Class<?>[] CALLBACK_TYPES = {MethodInterceptor.class, Dispatcher.class, NoOp.class};
+
+    // 目标类型 -> (代理形状 -> 代理类)。缓存挂在目标类型上，不会阻止目标类型所在的类加载器被回收
+    private static final ClassValue<Map<ProxyShape, ProxyClass>> PROXY_CLASS_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<ProxyShape, ProxyClass> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
     private final AdvisedSupport advisedSupport;
 
     public CglibAopProxy(AdvisedSupport advisedSupport) {
@@ -27,11 +66,214 @@ public class CglibAopProxy implements AopProxy{
 
     @Override
     public Object getProxy() {
+        Object target = advisedSupport.getTargetSource().getTarget();
+        Class<?> targetClass = target.getClass();
+        Class<?>[] interfaces = advisedSupport.getTargetSource().getTargetClasses();
+        // 创建代理时计算好每个方法的拦截器链，同时得到需要拦截的方法集合
+        ProxyShape shape = new ProxyShape(interfaces, advisedMethods(targetClass, interfaces));
+        ProxyClass proxyClass = PROXY_CLASS_CACHE.get(targetClass)
+                .computeIfAbsent(shape, key -> createProxyClass(targetClass, key));
+
+        Factory proxy = (Factory) proxyClass.newInstance();
+        proxy.setCallbacks(new Callback[]{
+                new DynamicAdvisedInterceptor(advisedSupport), new StaticDispatcher(target), NoOp.INSTANCE});
+        return proxy;
+    }
+
+    /**
+     * 收集 CGLIB 可以覆盖的方法中需要拦截的方法，同一方法在类层次和接口中的不同声明都会被收集
+     */
+    private Set<Method> advisedMethods(Class<?> targetClass, Class<?>[] interfaces) {
+        Set<Method> advisedMethods = new HashSet<>();
+        for (Class<?> type = targetClass; type != null; type = type.getSuperclass()) {
+            collectAdvisedMethods(type.getDeclaredMethods(), targetClass, advisedMethods);
+        }
+        for (Class<?> proxiedInterface : interfaces) {
+            collectAdvisedMethods(proxiedInterface.getMethods(), targetClass, advisedMethods);
+        }
+        return advisedMethods;
+    }
+
+    private void collectAdvisedMethods(Method[] methods, Class<?> targetClass, Set<Method> advisedMethods) {
+        for (Method method : methods) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isPrivate(modifiers)) {
+                continue;
+            }
+            if (advisedSupport.getInterceptors(method, targetClass).length > 0) {
+                advisedMethods.add(method);
+            }
+        }
+    }
+
+    private static ProxyClass createProxyClass(Class<?> targetClass, ProxyShape shape) {
         Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(advisedSupport.getTargetSource().getTarget().getClass());
-        enhancer.setInterfaces(advisedSupport.getTargetSource().getTargetClasses());
-        enhancer.setCallback(new DynamicAdvisedInterceptor(advisedSupport));
-        return enhancer.create();
+        enhancer.setSuperclass(targetClass);
+        enhancer.setInterfaces(shape.interfaces);
+        enhancer.setCallbackTypes(CALLBACK_TYPES);
+        enhancer.setCallbackFilter(new ProxyCallbackFilter(shape.advisedMethods));
+        // 代理类由上面的缓存管理
+        enhancer.setUseCache(false);
+        return new ProxyClass(enhancer.createClass());
+    }
+
+    /**
+     * 缓存的代理类以及创建代理对象使用的构造器和参数
+     */
+    private static final class ProxyClass {
+
+        // sun.reflect.ReflectionFactory#newConstructorForSerialization，不可用时为 null
+        private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+
+        private static final Object REFLECTION_FACTORY;
+
+        static {
+            Method newConstructorForSerialization = null;
+            Object reflectionFactory = null;
+            try {
+                // 通过反射访问 jdk.unsupported 模块导出的 ReflectionFactory，编译时不依赖内部 API
+                Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+                reflectionFactory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+                newConstructorForSerialization = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // 运行环境不提供 ReflectionFactory 时退回到代理类声明的构造器
+                newConstructorForSerialization = null;
+            }
+            NEW_CONSTRUCTOR_FOR_SERIALIZATION = newConstructorForSerialization;
+            REFLECTION_FACTORY = reflectionFactory;
+        }
+
+        private final Class<?> type;
+
+        private final Constructor<?> constructor;
+
+        private final Object[] arguments;
+
+        ProxyClass(Class<?> type) {
+            this.type = type;
+            Constructor<?> serializationConstructor = serializationConstructor(type);
+            if (serializationConstructor != null) {
+                this.constructor = serializationConstructor;
+                this.arguments = new Object[0];
+                return;
+            }
+            this.constructor = instantiationConstructor(type);
+            this.constructor.setAccessible(true);
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            this.arguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                // 基本类型的默认值，引用类型为 null
+                arguments[i] = parameterTypes[i].isPrimitive() ? Array.get(Array.newInstance(parameterTypes[i], 1), 0) : null;
+            }
+        }
+
+        Object newInstance() {
+            try {
+                return constructor.newInstance(arguments.length == 0 ? arguments : arguments.clone());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new IllegalStateException("Unable to instantiate proxy class " + type.getName()
+                        + " through constructor " + constructor, e);
+            }
+        }
+
+        /**
+         * 与反序列化相同的实例化方式：只执行 Object 的构造器，代理类和目标类的构造器都不执行
+         */
+        private static Constructor<?> serializationConstructor(Class<?> type) {
+            if (NEW_CONSTRUCTOR_FOR_SERIALIZATION == null) {
+                return null;
+            }
+            try {
+                return (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(REFLECTION_FACTORY, type, Object.class.getDeclaredConstructor());
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * 代理类为目标类的每个非 private 构造器生成了对应的构造器，优先选择无参构造器，否则选择参数最少的
+         */
+        private static Constructor<?> instantiationConstructor(Class<?> type) {
+            Constructor<?> selected = null;
+            for (Constructor<?> candidate : type.getDeclaredConstructors()) {
+                if (selected == null || candidate.getParameterCount() < selected.getParameterCount()) {
+                    selected = candidate;
+                }
+            }
+            if (selected == null) {
+                throw new IllegalStateException("No constructor found on proxy class " + type.getName());
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * 代理类的形状：实现的接口以及需要拦截的方法，形状相同的代理可以共享代理类
+     */
+    private static final class ProxyShape {
+
+        private final Class<?>[] interfaces;
+
+        private final Set<Method> advisedMethods;
+
+        ProxyShape(Class<?>[] interfaces, Set<Method> advisedMethods) {
+            this.interfaces = interfaces;
+            this.advisedMethods = advisedMethods;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ProxyShape that)) {
+                return false;
+            }
+            return Arrays.equals(interfaces, that.interfaces) && advisedMethods.equals(that.advisedMethods);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(interfaces) + advisedMethods.hashCode();
+        }
+    }
+
+    private static final class ProxyCallbackFilter implements CallbackFilter {
+
+        private final Set<Method> advisedMethods;
+
+        ProxyCallbackFilter(Set<Method> advisedMethods) {
+            this.advisedMethods = advisedMethods;
+        }
+
+        @Override
+        public int accept(Method method) {
+            if (advisedMethods.contains(method)) {
+                return AOP_PROXY;
+            }
+            if (method.getName().equals("finalize") && method.getParameterCount() == 0) {
+                return NO_OVERRIDE;
+            }
+            // 非 public 方法仍然经过 DynamicAdvisedInterceptor，由 MethodProxy 调用目标对象
+            return Modifier.isPublic(method.getModifiers()) ? DISPATCH_TARGET : AOP_PROXY;
+        }
+    }
+
+    /**
+     * 不需要拦截的方法直接在目标对象上调用
+     */
+    private static final class StaticDispatcher implements Dispatcher {
+
+        private final Object target;
+
+        StaticDispatcher(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object loadObject() {
+            return target;
+        }
     }
 
     private static class DynamicAdvisedInterceptor implements MethodInterceptor {
@@ -44,12 +286,13 @@ public class CglibAopProxy implements AopProxy{
 
         @Override
         public Object intercept(Object o, Method method, Object[] objects, MethodProxy methodProxy) throws Throwable {
-            CglibMethodInvocation methodInvocation = new CglibMethodInvocation(advisedSupport.getTargetSource().getTarget(), method, objects, methodProxy);
-            if (advisedSupport.getMethodMatcher().matches(method, advisedSupport.getTargetSource().getTarget().getClass())) {
-                return advisedSupport.getMethodInterceptor().invoke(methodInvocation);
+            Object target = advisedSupport.getTargetSource().getTarget();
+            org.aopalliance.intercept.MethodInterceptor[] interceptors = advisedSupport.getInterceptors(method, target.getClass());
+            if (interceptors.length > 0) {
+                return new CglibMethodInvocation(target, method, objects, interceptors, methodProxy).proceed();
             }
-
-            return methodInvocation.proceed();
+            // 不需要增强的方法直接调用目标对象，不创建 MethodInvocation
+            return methodProxy.invoke(target, objects);
         }
     }
 
@@ -57,13 +300,14 @@ public class CglibAopProxy implements AopProxy{
 
         private final MethodProxy methodProxy;
 
-        public CglibMethodInvocation(Object target, Method method, Object[] arguments, MethodProxy methodProxy) {
-            super(target, method, arguments);
+        public CglibMethodInvocation(Object target, Method method, Object[] arguments,
+                                     org.aopalliance.intercept.MethodInterceptor[] interceptors, MethodProxy methodProxy) {
+            super(target, method, arguments, interceptors);
             this.methodProxy = methodProxy;
         }
 
         @Override
-        public Object proceed() throws Throwable {
+        protected Object invokeJoinpoint() throws Throwable {
             return this.methodProxy.invoke(this.target, this.arguments);
         }
     }
@@ -54,9 +54,10 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
      *
      * <p>执行流程：
      * <ol>
-     *   <li>检查当前方法是否匹配切点规则</li>
-     *   <li>若匹配，通过方法拦截器链执行增强逻辑</li>
-     *   <li>若不匹配，直接反射调用目标方法</li>
+     *   <li>获取当前方法的拦截器链，创建代理时已按方法计算好</li>
+     *   <li>拦截器链不为空时，通过方法拦截器链执行增强逻辑</li>
+     *   <li>若不匹配，直接调用目标方法</li>
+     *   <li>目标方法通过按方法缓存的 MethodHandle 调用，异常原样抛出</li>
      * </ol>
      *
      * @param proxy  代理对象实例
@@ -67,28 +68,36 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
      */
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        // 如果匹配成功，即该方法需要 aop 增强，就执行methodInterceptor.invoke
-        if (advisedSupport.getMethodMatcher().matches(method,advisedSupport.getTargetSource().getTarget().getClass())) {
-            MethodInterceptor methodInterceptor = advisedSupport.getMethodInterceptor();
-            return methodInterceptor.invoke(new ReflectiveMethodInvocation(advisedSupport.getTargetSource().getTarget(), method, args));
+        Object target = advisedSupport.getTargetSource().getTarget();
+        // 如果匹配成功，即该方法需要 aop 增强，就依次执行拦截器链
+        MethodInterceptor[] interceptors = advisedSupport.getInterceptors(method, target.getClass());
+        if (interceptors.length > 0) {
+            return new ReflectiveMethodInvocation(target, method, args, interceptors).proceed();
         }
         // 如果匹配失败，即不需要该方法增强，直接调用不做增强
-        return method.invoke(advisedSupport.getTargetSource().getTarget(), args);
+        return TargetMethodInvoker.invoke(method, target, args);
     }
 
     /**
      * 创建代理对象实例
      *
      * <p>通过 JDK {@link Proxy#newProxyInstance} 动态生成代理类，
-     * 该代理类会实现目标对象的所有接口。
+     * 该代理类会实现目标对象的所有接口。代理类定义在目标对象的类加载器中，
+     * 保证目标对象能看到的接口代理类也能看到。
      *
      * @return 代理对象实例
      * @see java.lang.reflect.Proxy#newProxyInstance
      */
     @Override
     public Object getProxy() {
+        // 创建代理时计算好接口方法以及 equals、hashCode、toString 的拦截器链
+        Class<?> targetClass = advisedSupport.getTargetSource().getTarget().getClass();
+        for (Class<?> proxiedInterface : advisedSupport.getTargetSource().getTargetClasses()) {
+            advisedSupport.prepareInterceptors(proxiedInterface, targetClass);
+        }
+        advisedSupport.prepareInterceptors(Object.class, targetClass);
         return Proxy.newProxyInstance(
-                getClass().getClassLoader(),
+                targetClass.getClassLoader(),
                 advisedSupport.getTargetSource().getTargetClasses(),
                 this
         );
@@ -1,5 +1,6 @@
 package org.springframework.aop.framework;
 
+import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
 import java.lang.reflect.AccessibleObject;
@@ -13,6 +14,7 @@ import java.lang.reflect.Method;
  *   <li>目标对象（被代理的原始对象）</li>
  *   <li>被调用的方法（包括方法元数据）</li>
  *   <li>方法调用参数</li>
+ *   <li>该方法的拦截器链</li>
  * </ul>
  *
  * <h3>典型用法：</h3>
@@ -32,7 +34,9 @@ import java.lang.reflect.Method;
  * }
  * </pre>
  *
- * <p>注意：这个实现是<em>不可变的</em>和<em>线程安全的</em>，所有关键字段(final)在构造后都不能修改。
+ * <p>每次调用代理方法创建一个实例，{@link #proceed()} 通过下标依次执行拦截器链，执行到末尾时调用目标方法，
+ * 整个调用过程只分配这一个对象。拦截器数组由 {@link org.springframework.aop.AdvisedSupport} 预先计算并共享，
+ * 这里只读不写；当前执行到的下标是可变状态，因此实例不能在线程之间共享。
  *
  * @see org.springframework.aop.framework.ProxyFactory
  * @see org.aopalliance.intercept.MethodInterceptor
@@ -51,10 +55,22 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     /** 方法调用参数数组 */
     protected final Object[] arguments;
 
+    /** 拦截器链，不可修改 */
+    protected final MethodInterceptor[] interceptors;
+
+    /** 当前执行到的拦截器下标，-1 表示尚未开始 */
+    private int currentInterceptorIndex = -1;
+
     public ReflectiveMethodInvocation(final Object target, final Method method, final Object[] arguments) {
+        this(target, method, arguments, new MethodInterceptor[0]);
+    }
+
+    public ReflectiveMethodInvocation(final Object target, final Method method, final Object[] arguments,
+                                      final MethodInterceptor[] interceptors) {
         this.target = target;
         this.method = method;
         this.arguments = arguments;
+        this.interceptors = interceptors;
     }
 
     @Override
@@ -70,14 +86,24 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     /**
      * 继续执行拦截器链，最终调用目标方法
      *
-     * <p>在简单实现中直接反射调用目标方法，实际Spring实现会处理拦截器链
+     * <p>还有未执行的拦截器时调用下一个拦截器，否则调用目标方法
      *
      * @return 目标方法的执行结果
-     * @throws Throwable 如果目标方法抛出任何异常
+     * @throws Throwable 如果拦截器或目标方法抛出任何异常
      */
     @Override
     public Object proceed() throws Throwable {
-        return method.invoke(target, arguments);
+        if (currentInterceptorIndex == interceptors.length - 1) {
+            return invokeJoinpoint();
+        }
+        return interceptors[++currentInterceptorIndex].invoke(this);
+    }
+
+    /**
+     * 通过缓存的 MethodHandle 调用目标方法，目标方法抛出的异常原样抛出，子类可以替换调用方式
+     */
+    protected Object invokeJoinpoint() throws Throwable {
+        return TargetMethodInvoker.invoke(method, target, arguments);
     }
 
     @Override
@@ -0,0 +1,102 @@
+package org.springframework.aop.framework;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 在目标对象上调用方法，供 JDK 代理和 {@link ReflectiveMethodInvocation} 使用。
+ * <p>
+ * 每个方法只绑定一次 MethodHandle，参数和返回值统一适配为 Object，基本类型自动拆箱和装箱，void 方法返回 null。
+ * 参数不超过 3 个时按参数个数精确调用，更多参数时展开参数数组调用。
+ * 调用通过 invokeExact 完成，目标方法抛出的异常原样抛出，不会包装为 InvocationTargetException。
+ * 无法访问的方法（例如所在的模块没有开放）退回到反射调用，同样会解开 InvocationTargetException。
+ *
+ * @author zhenghong
+ * @date 2025/6/28
+ */
+final class TargetMethodInvoker {
+
+    private static final int MAX_EXACT_ARITY = 3;
+
+    private static final MethodType SPREAD_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final MethodHandle REFLECTIVE_INVOKER;
+
+    static {
+        try {
+            REFLECTIVE_INVOKER = MethodHandles.lookup().findStatic(TargetMethodInvoker.class, "invokeReflectively",
+                    MethodType.methodType(Object.class, Method.class, Object.class, Object[].class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    // 声明方法的类型 -> (方法 -> 绑定好的 MethodHandle)，缓存挂在类型上，不会阻止类被卸载
+    private static final ClassValue<Map<Method, MethodHandle>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(16);
+        }
+    };
+
+    private TargetMethodInvoker() {
+    }
+
+    static Object invoke(Method method, Object target, Object[] arguments) throws Throwable {
+        MethodHandle invoker = INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, TargetMethodInvoker::createInvoker);
+        // 参数不多时直接按参数个数精确调用，避免展开参数数组
+        switch (method.getParameterCount()) {
+            case 0:
+                return invoker.invokeExact(target);
+            case 1:
+                return invoker.invokeExact(target, arguments[0]);
+            case 2:
+                return invoker.invokeExact(target, arguments[0], arguments[1]);
+            case 3:
+                return invoker.invokeExact(target, arguments[0], arguments[1], arguments[2]);
+            default:
+                return invoker.invokeExact(target, arguments);
+        }
+    }
+
+    private static MethodHandle createInvoker(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+        } catch (IllegalAccessException ex) {
+            // 例如非 public 类型中的方法，开放访问后重新绑定，仍然失败时退回到反射调用
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            } catch (RuntimeException | IllegalAccessException e) {
+                handle = REFLECTIVE_INVOKER.bindTo(method);
+                return adaptArity(handle.asCollector(Object[].class, method.getParameterCount()), method.getParameterCount());
+            }
+        }
+        // (Target, P1..Pn)R -> (Object, Object..Object)Object；可变参数方法按固定参数个数绑定，最后一个参数就是数组本身
+        return adaptArity(handle.asType(handle.type().generic()), method.getParameterCount());
+    }
+
+    /**
+     * 参数个数超过 {@value #MAX_EXACT_ARITY} 时展开为 (Object, Object[])Object
+     */
+    private static MethodHandle adaptArity(MethodHandle generic, int parameterCount) {
+        if (parameterCount <= MAX_EXACT_ARITY) {
+            return generic;
+        }
+        return generic.asSpreader(Object[].class, parameterCount).asType(SPREAD_INVOKER_TYPE);
+    }
+
+    private static Object invokeReflectively(Method method, Object target, Object[] arguments) throws Throwable {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
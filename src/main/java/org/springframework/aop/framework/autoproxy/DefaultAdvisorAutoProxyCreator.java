@@ -1,7 +1,6 @@
 package org.springframework.aop.framework.autoproxy;
 
 import org.aopalliance.aop.Advice;
-import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.aop.*;
 import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
 import org.springframework.aop.framework.ProxyFactory;
@@ -13,24 +12,44 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 
-import java.util.Collection;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code DefaultAdvisorAutoProxyCreator} 是一个 Spring 容器中的自动代理创建器，
  * 实现了 {@link InstantiationAwareBeanPostProcessor} 和 {@link BeanFactoryAware}。
  *
  * <p>它在 Bean 实例化之前拦截创建过程，根据容器中定义的 {@link AspectJExpressionPointcutAdvisor} 切面，
- * 判断是否需要为该 Bean 创建代理对象。如果匹配，则使用 {@link ProxyFactory} 创建 AOP 代理。
+ * 判断是否需要为该 Bean 创建代理对象。如果匹配，则使用 {@link ProxyFactory} 创建 AOP 代理，
+ * 所有匹配的切面按注册顺序组成拦截器链。
  *
  * <p>此类在 Spring AOP 实现中扮演重要角色，帮助自动将符合条件的 Bean 包装成代理对象。
  *
+ * <p>代理直接包装已经完成属性填充和初始化的 bean。容器中的切面只解析一次并缓存，
+ * 直到切面的 BeanDefinition 被新增、删除或替换；每个 bean 类型可应用的切面也随之缓存，
+ * 类型上没有任何方法能匹配的切面会被提前排除，没有可应用切面的 bean 不会生成代理。
+ * 发生循环依赖时，代理在 {@link #getEarlyBeanReference(Object, String)} 中提前创建，
+ * 初始化完成后不再重复代理。
+ *
  * @author zhenghong
  * @date 2025/6/12
  */
 public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
 
+    private static final PointcutAdvisor[] NO_ADVISORS = new PointcutAdvisor[0];
+
     private DefaultListableBeanFactory beanFactory;
 
+    private volatile AdvisorCache advisorCache;
+
+    // 已经提前创建代理的 bean 名称 -> 原始 bean
+    private final Map<String, Object> earlyProxyReferences = new ConcurrentHashMap<>(16);
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (DefaultListableBeanFactory) beanFactory;
@@ -49,6 +68,11 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
                 || Advisor.class.isAssignableFrom(beanClass);
     }
 
+    @Override
+    public boolean supportsBeanType(Class<?> beanType) {
+        return !isInfrastructureClass(beanType);
+    }
+
     /**
      * 在 Bean 实例化之前执行，用于判断是否需要为该 Bean 创建代理对象。
      * 如果匹配到某个切面（Advisor），则创建代理对象并返回。
@@ -78,31 +102,141 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
         return bean;
     }
 
+    /**
+     * 循环依赖时提前创建代理，记录下来避免初始化完成后再次代理
+     */
+    @Override
+    public Object getEarlyBeanReference(Object bean, String beanName) throws BeansException {
+        earlyProxyReferences.put(beanName, bean);
+        return wrapIfNecessary(bean, beanName);
+    }
+
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        if (isInfrastructureClass(bean.getClass())) {
-            return null;
+        if (earlyProxyReferences.remove(beanName) == bean) {
+            return bean;
         }
+        return wrapIfNecessary(bean, beanName);
+    }
 
-        Collection<AspectJExpressionPointcutAdvisor> advisors = beanFactory.getBeansOfType(AspectJExpressionPointcutAdvisor.class).values();
+    /**
+     * 如果有可应用的切面，为 bean 创建代理，目标对象就是 bean 本身
+     */
+    private Object wrapIfNecessary(Object bean, String beanName) {
+        if (isInfrastructureClass(bean.getClass())) {
+            return bean;
+        }
         try {
-            for (AspectJExpressionPointcutAdvisor advisor : advisors) {
-                ClassFilter classFilter = advisor.getPointcut().getClassFilter();
-                if (classFilter.matches(bean.getClass())) {
-                    AdvisedSupport advisedSupport = new AdvisedSupport();
-
-                    BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
-                    Object instantiate = beanFactory.getInstantiationStrategy().instantiate(beanDefinition);
-                    TargetSource targetSource = new TargetSource(instantiate);
-                    advisedSupport.setTargetSource(targetSource);
-                    advisedSupport.setMethodMatcher(advisor.getPointcut().getMethodMatcher());
-                    advisedSupport.setMethodInterceptor((MethodInterceptor) advisor.getAdvice());
-                    return new ProxyFactory(advisedSupport).getProxy();
-                }
+            PointcutAdvisor[] advisors = getAdvisorCache().getEligibleAdvisors(bean.getClass());
+            if (advisors.length == 0) {
+                return bean;
             }
+            // 所有匹配的切面按注册顺序组成拦截器链
+            AdvisedSupport advisedSupport = new AdvisedSupport();
+            advisedSupport.setTargetSource(new TargetSource(bean));
+            for (PointcutAdvisor advisor : advisors) {
+                advisedSupport.addAdvisor(advisor);
+            }
+            return new ProxyFactory(advisedSupport).getProxy();
         } catch (Exception ex) {
             throw new BeansException("Error create proxy bean for: " + beanName, ex);
         }
-        return bean;
+    }
+
+    /**
+     * 获取容器中的切面，切面的 BeanDefinition 没有变化时直接使用缓存
+     */
+    private AdvisorCache getAdvisorCache() {
+        String[] advisorNames = beanFactory.getBeanNamesForType(AspectJExpressionPointcutAdvisor.class);
+        AdvisorCache cache = this.advisorCache;
+        if (cache != null && cache.isCurrent(beanFactory, advisorNames)) {
+            return cache;
+        }
+        BeanDefinition[] beanDefinitions = new BeanDefinition[advisorNames.length];
+        PointcutAdvisor[] advisors = new PointcutAdvisor[advisorNames.length];
+        for (int i = 0; i < advisorNames.length; i++) {
+            beanDefinitions[i] = beanFactory.getBeanDefinition(advisorNames[i]);
+            advisors[i] = (PointcutAdvisor) beanFactory.getBean(advisorNames[i]);
+        }
+        cache = new AdvisorCache(advisorNames, beanDefinitions, advisors);
+        this.advisorCache = cache;
+        return cache;
+    }
+
+    /**
+     * 解析好的切面，以及每个 bean 类型可应用的切面
+     */
+    private static final class AdvisorCache {
+
+        private final String[] advisorNames;
+
+        private final BeanDefinition[] beanDefinitions;
+
+        private final PointcutAdvisor[] advisors;
+
+        private final Map<Class<?>, PointcutAdvisor[]> eligibleAdvisors = new ConcurrentHashMap<>(64);
+
+        AdvisorCache(String[] advisorNames, BeanDefinition[] beanDefinitions, PointcutAdvisor[] advisors) {
+            this.advisorNames = advisorNames;
+            this.beanDefinitions = beanDefinitions;
+            this.advisors = advisors;
+        }
+
+        boolean isCurrent(DefaultListableBeanFactory beanFactory, String[] currentAdvisorNames) {
+            if (!Arrays.equals(advisorNames, currentAdvisorNames)) {
+                return false;
+            }
+            for (int i = 0; i < advisorNames.length; i++) {
+                if (beanFactory.getBeanDefinition(advisorNames[i]) != beanDefinitions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        PointcutAdvisor[] getEligibleAdvisors(Class<?> beanClass) {
+            return eligibleAdvisors.computeIfAbsent(beanClass, this::findEligibleAdvisors);
+        }
+
+        private PointcutAdvisor[] findEligibleAdvisors(Class<?> beanClass) {
+            List<PointcutAdvisor> eligible = new ArrayList<>();
+            for (PointcutAdvisor advisor : advisors) {
+                if (canApply(advisor.getPointcut(), beanClass)) {
+                    eligible.add(advisor);
+                }
+            }
+            return eligible.isEmpty() ? NO_ADVISORS : eligible.toArray(NO_ADVISORS);
+        }
+
+        /**
+         * 类型匹配，并且类型上至少有一个可代理的方法匹配
+         */
+        private static boolean canApply(Pointcut pointcut, Class<?> beanClass) {
+            if (!pointcut.getClassFilter().matches(beanClass)) {
+                return false;
+            }
+            MethodMatcher methodMatcher = pointcut.getMethodMatcher();
+            for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                if (anyMethodMatches(type.getDeclaredMethods(), methodMatcher, beanClass)) {
+                    return true;
+                }
+            }
+            for (Class<?> proxiedInterface : beanClass.getInterfaces()) {
+                if (anyMethodMatches(proxiedInterface.getMethods(), methodMatcher, beanClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean anyMethodMatches(Method[] methods, MethodMatcher methodMatcher, Class<?> beanClass) {
+            for (Method method : methods) {
+                int modifiers = method.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers) && methodMatcher.matches(method, beanClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
@@ -13,15 +13,27 @@ public class PropertyValues {
 
     private final List<PropertyValue> propertyValueList = new ArrayList<PropertyValue>();
 
+    // 属性值被修改的次数，供缓存了属性值解析结果的地方判断缓存是否失效
+    private int modificationCount;
+
     public void addPropertyValue(PropertyValue propertyValue) {
         for (int i = 0; i < this.propertyValueList.size(); i++) {
             PropertyValue currentPv = this.propertyValueList.get(i);
             if (currentPv.getName().equals(propertyValue.getName())) {
-                this.propertyValueList.set(i, propertyValue);
+                // 重复添加同一个属性值不算修改
+                if (currentPv != propertyValue) {
+                    this.propertyValueList.set(i, propertyValue);
+                    this.modificationCount++;
+                }
                 return;
             }
         }
         this.propertyValueList.add(propertyValue);
+        this.modificationCount++;
+    }
+
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     public PropertyValue[] getPropertyValues() {
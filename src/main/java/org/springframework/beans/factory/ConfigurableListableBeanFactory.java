@@ -6,6 +6,8 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 
+import java.util.concurrent.Executor;
+
 /**
  * ConfigurableListableBeanFactory 是一个“可配置 + 可列出”的高级容器接口，
  * 集成了 BeanFactory 的核心获取功能、ListableBeanFactory 的列举功能，
@@ -25,6 +27,14 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
      */
     BeanDefinition getBeanDefinition(String beanName) throws BeansException;
 
+    /**
+     * 是否存在指定名字的BeanDefinition，手动注册的单例没有BeanDefinition
+     *
+     * @param beanName beanName
+     * @return 存在时返回 true
+     */
+    boolean containsBeanDefinition(String beanName);
+
     /**
      * 提前实例化所有单例实例
      *
@@ -32,6 +42,14 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
      */
     void preInstantiateSingletons() throws BeansException;
 
+    /**
+     * 设置预实例化单例时使用的线程池。设置后，{@link #preInstantiateSingletons()} 会按照依赖图
+     * 并行创建互不依赖的单例；为 null 时（默认）按顺序逐个创建
+     *
+     * @param bootstrapExecutor 线程池，如 ForkJoinPool
+     */
+    void setBootstrapExecutor(Executor bootstrapExecutor);
+
     /**
      * 向容器中添加一个 BeanPostProcessor。
      * BeanPostProcessor 用于在 Bean 初始化前后执行自定义逻辑，由用户自行实现
@@ -21,6 +21,14 @@ public interface ListableBeanFactory extends BeanFactory {
      */
     <T> Map<String,T> getBeansOfType(Class<T> type) throws BeansException;
 
+    /**
+     * 根据classType查找bean的名称，不会实例化bean
+     *
+     * @param type classType
+     * @return 匹配的bean名称
+     */
+    String[] getBeanNamesForType(Class<?> type);
+
     /**
      * 返回定义的所有bean的名称
      *
@@ -32,4 +32,14 @@ public interface BeanPostProcessor {
      */
     Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException;
 
+    /**
+     * 声明该后处理器是否作用于某种类型的 bean。
+     * 返回 false 表示对该类型的 bean，所有回调都等同于原样返回 bean，容器会直接跳过这些调用
+     *
+     * @param beanType BeanDefinition 中的 bean 类型
+     * @return 默认作用于所有 bean
+     */
+    default boolean supportsBeanType(Class<?> beanType) {
+        return true;
+    }
 }
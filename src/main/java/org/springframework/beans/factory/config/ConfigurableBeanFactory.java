@@ -28,4 +28,10 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory,Singlet
     ConversionService getConversionService();
 
     void setConversionService(ConversionService conversionService);
+
+    /**
+     * 清除由 BeanDefinition 和 bean 类型得到的元数据缓存（如属性访问器、创建计划、类型索引），
+     * 在 BeanFactoryPostProcessor 修改 BeanDefinition 之后以及容器关闭时调用
+     */
+    void clearMetadataCache();
 }
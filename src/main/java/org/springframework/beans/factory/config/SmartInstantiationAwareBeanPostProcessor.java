@@ -0,0 +1,31 @@
+package org.springframework.beans.factory.config;
+
+import org.springframework.beans.BeansException;
+
+/**
+ * {@link InstantiationAwareBeanPostProcessor} 的扩展接口，允许后处理器在 bean 创建之前
+ * 声明它将为该 bean 注入哪些其他 bean。
+ * <p>
+ * 容器在并行预实例化单例时，会把这里声明的依赖与 XML 中的 {@link BeanReference} 一起构成依赖图，
+ * 保证被依赖的 bean 先于依赖方创建。例如 {@code AutowiredAnnotationBeanPostProcessor}
+ * 会根据 {@code @Autowired} 字段返回被注入的 bean 名称。
+ *
+ * @see org.springframework.beans.factory.support.DefaultListableBeanFactory#preInstantiateSingletons()
+ *
+ * @author zhenghong
+ * @date 2025/6/23
+ */
+public interface SmartInstantiationAwareBeanPostProcessor extends InstantiationAwareBeanPostProcessor {
+
+    /**
+     * 返回该后处理器将为指定 bean 注入的其他 bean 的名称。
+     *
+     * @param beanClass bean 的类型
+     * @param beanName  bean 的名称
+     * @return 依赖的 bean 名称，没有依赖时返回空数组
+     * @throws BeansException 如果解析依赖时出错
+     */
+    default String[] determineDependencies(Class<?> beanClass, String beanName) throws BeansException {
+        return new String[0];
+    }
+}
@@ -1,10 +1,7 @@
 package org.springframework.beans.factory.support;
 
-import cn.hutool.Hutool;
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.util.ClassUtil;
-import cn.hutool.core.util.StrUtil;
-import cn.hutool.core.util.TypeUtil;
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.PropertyValues;
@@ -12,9 +9,8 @@ import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.*;
 import org.springframework.core.convert.ConversionService;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Type;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 抽象的自动装配 Bean 工厂，是 BeanFactory 的核心实现之一。
@@ -33,31 +29,53 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
     public InstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
 
+    private final Map<Class<?>, Map<String, BeanPropertyAccessor>> propertyAccessorCache = new ConcurrentHashMap<>(256);
+
+    private volatile boolean cacheConvertedPropertyValues = true;
+
+    // beanName -> 编译好的创建计划
+    private final Map<String, BeanCreationPlan> creationPlans = new ConcurrentHashMap<>(256);
+
     @Override
     protected Object createBean(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        BeanCreationPlan plan = getCreationPlan(beanName, beanDefinition);
         // 如果 bean 需要代理，则直接返回代理对象
-        Object bean = resolveBeforeInstantiation(beanName, beanDefinition);
+        Object bean = resolveBeforeInstantiation(beanName, plan);
         if (bean != null) {
             return bean;
         }
-        return doCreateBean(beanName, beanDefinition);
+        return doCreateBean(beanName, plan);
+    }
+
+    /**
+     * 获取 bean 的创建计划，首次创建或 BeanDefinition 发生变化时重新编译
+     */
+    private BeanCreationPlan getCreationPlan(String beanName, BeanDefinition beanDefinition) {
+        BeanCreationPlan plan = creationPlans.get(beanName);
+        if (plan == null || !plan.matches(beanDefinition, getBeanPostProcessorCache())) {
+            plan = BeanCreationPlan.compile(this, beanDefinition);
+            creationPlans.put(beanName, plan);
+        }
+        return plan;
     }
 
-    protected Object resolveBeforeInstantiation(String beanName, BeanDefinition beanDefinition) {
-        Object bean = applyBeanPostProcessorsBeforeInstantiation(beanDefinition.getBeanClass(), beanName);
+    private Object resolveBeforeInstantiation(String beanName, BeanCreationPlan plan) {
+        if (!plan.hasInstantiationAwareBeanPostProcessors()) {
+            return null;
+        }
+        Object bean = applyBeanPostProcessorsBeforeInstantiation(plan, beanName);
         if (bean != null) {
-            bean = applyBeanPostProcessorsAfterInitialization(bean, beanName);
+            bean = applyBeanPostProcessorsAfterInitialization(plan.getBeanPostProcessors(), bean, beanName);
         }
         return bean;
     }
 
-    protected Object applyBeanPostProcessorsBeforeInstantiation(Class<?> beanClass, String beanName) {
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                Object result = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessBeforeInstantiation(beanClass, beanName);
-                if (result != null) {
-                    return result;
-                }
+    private Object applyBeanPostProcessorsBeforeInstantiation(BeanCreationPlan plan, String beanName) {
+        Class<?> beanClass = plan.getBeanDefinition().getBeanClass();
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : plan.getInstantiationAwareBeanPostProcessors()) {
+            Object result = beanPostProcessor.postProcessBeforeInstantiation(beanClass, beanName);
+            if (result != null) {
+                return result;
             }
         }
 
@@ -70,73 +88,73 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * 2. 填充属性（依赖注入）
      * 3. 执行初始化方法、调用 BeanPostProcessor
      * 4. 注册为单例
+     * 创建计划中为空操作的阶段会被跳过
      */
-    protected Object doCreateBean(String beanName, BeanDefinition beanDefinition) throws BeansException{
+    private Object doCreateBean(String beanName, BeanCreationPlan plan) throws BeansException {
+        BeanDefinition beanDefinition = plan.getBeanDefinition();
         Object bean;
+        Object exposedObject;
         try {
             bean = createBeanInstance(beanDefinition);
             // 为解决循环依赖问题，提前暴露 bean
             if (beanDefinition.isSingleton()) {
-                Object finalBean = bean;
-                addSingletonFactory(beanName, () -> getEarlyBeanReference(finalBean, beanName));
+                if (plan.hasInstantiationAwareBeanPostProcessors()) {
+                    Object finalBean = bean;
+                    addSingletonFactory(beanName, () -> getEarlyBeanReference(plan, finalBean, beanName));
+                } else {
+                    // 没有后处理器会包装早期引用，直接暴露原始对象
+                    addEarlySingleton(beanName, bean);
+                }
             }
-            // 实例化 bean 之后执行
-            boolean continueWithPropertyPopulation = applyBeanPostProcessorsAfterInstantiation(beanName, bean);
-            if (!continueWithPropertyPopulation) {
-                return bean;
+            if (plan.hasInstantiationAwareBeanPostProcessors()) {
+                // 实例化 bean 之后执行
+                boolean continueWithPropertyPopulation = applyBeanPostProcessorsAfterInstantiation(plan, beanName, bean);
+                if (!continueWithPropertyPopulation) {
+                    return bean;
+                }
+                // 在设置 bean 属性之前，允许 BeanPostProcessor 修改属性值
+                applyBeanPostprocessorsBeforeApplyingProperties(plan, beanName, bean);
             }
-            // 在设置 bean 属性之前，允许 BeanPostProcessor 修改属性值
-            applyBeanPostprocessorsBeforeApplyingProperties(beanName, bean, beanDefinition);
             // 为 bean 设置属性值
-            applyPropertyValues(beanName, bean, beanDefinition);
+            applyPropertyValues(beanName, bean, plan);
             // 执行 bean 的初始化方法和 BeanPostProcessor 的前置和后置处理方法
-            bean = initializeBean(beanName, bean, beanDefinition);
+            exposedObject = initializeBean(beanName, bean, plan);
         } catch (Exception e) {
             throw new BeansException("Instantiation of bean failed", e);
         }
-        registerDisposableBeanIfNecessary(beanName, bean, beanDefinition);
+        if (plan.requiresDestruction()) {
+            registerDisposableBean(beanName, new DisposableBeanAdapter(bean, beanName, beanDefinition));
+        }
         if (beanDefinition.isSingleton()) {
-            //如果有代理对象，此处获取代理对象
-            Object exposedObject = getSingleton(beanName);
+            // 早期引用已经被其他 bean 获取（可能是代理对象），且初始化没有替换 bean 时，暴露同一个早期引用
+            Object earlySingletonReference = earlySingletonObjects.get(beanName);
+            if (earlySingletonReference != null && exposedObject == bean) {
+                exposedObject = earlySingletonReference;
+            }
             addSingleton(beanName, exposedObject);
         }
 
-        return bean;
+        return exposedObject;
     }
 
-    protected Object getEarlyBeanReference(Object bean, String beanName) {
+    private Object getEarlyBeanReference(BeanCreationPlan plan, Object bean, String beanName) {
         Object exposedObject = bean;
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                exposedObject = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).getEarlyBeanReference(bean, beanName);
-                if (exposedObject == null) {
-                    return null;
-                }
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : plan.getInstantiationAwareBeanPostProcessors()) {
+            exposedObject = beanPostProcessor.getEarlyBeanReference(bean, beanName);
+            if (exposedObject == null) {
+                return null;
             }
         }
         return exposedObject;
     }
 
-    private boolean applyBeanPostProcessorsAfterInstantiation(String beanName, Object bean) {
-        boolean continueWithPropertyPopulation = true;
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                if (!((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessAfterInstantiation(bean, beanName)) {
-                    continueWithPropertyPopulation = false;
-                    break;
-                }
-            }
-        }
-        return continueWithPropertyPopulation;
-    }
-
-    protected void registerDisposableBeanIfNecessary(String beanName, Object bean, BeanDefinition beanDefinition) {
-        //只有 singleton 类型才会执行销毁方法
-        if (beanDefinition.isSingleton()) {
-            if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())) {
-                registerDisposableBean(beanName, new DisposableBeanAdapter(bean, beanName, beanDefinition));
+    private boolean applyBeanPostProcessorsAfterInstantiation(BeanCreationPlan plan, String beanName, Object bean) {
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : plan.getInstantiationAwareBeanPostProcessors()) {
+            if (!beanPostProcessor.postProcessAfterInstantiation(bean, beanName)) {
+                return false;
             }
         }
+        return true;
     }
 
     /**
@@ -145,29 +163,33 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * 2. 执行初始化方法（如自定义 init-method 或 InitializingBean）
      * 3. 调用 BeanPostProcessor 的后置方法
      */
-    protected Object initializeBean(String beanName,Object bean,BeanDefinition beanDefinition) {
-        if (bean instanceof BeanFactoryAware) {
+    private Object initializeBean(String beanName, Object bean, BeanCreationPlan plan) {
+        if (plan.isBeanFactoryAware()) {
             ((BeanFactoryAware) bean).setBeanFactory(this);
         }
 
         // 执行 BeanPostProcessor 的前置处理
-        Object wrappedBean = applyBeanPostProcessorsBeforeInitialization(bean, beanName);
+        Object wrappedBean = applyBeanPostProcessorsBeforeInitialization(plan.getBeanPostProcessors(), bean, beanName);
 
         try {
-            invokeInitMethods(beanName, wrappedBean, beanDefinition);
+            invokeInitMethods(beanName, wrappedBean, plan);
         } catch (Throwable ex) {
             throw new BeansException("Invocation of init method of bean[" + beanName + "] failed", ex);
         }
 
         // 执行 BeanPostProcessor 的后置处理
-        wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+        wrappedBean = applyBeanPostProcessorsAfterInitialization(plan.getBeanPostProcessors(), wrappedBean, beanName);
         return wrappedBean;
     }
 
     @Override
     public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) throws BeansException {
+        return applyBeanPostProcessorsBeforeInitialization(getBeanPostProcessorCache().getAll(), existingBean, beanName);
+    }
+
+    private Object applyBeanPostProcessorsBeforeInitialization(BeanPostProcessor[] beanPostProcessors, Object existingBean, String beanName) {
         Object result = existingBean;
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
             Object current = beanPostProcessor.postProcessBeforeInitialization(existingBean, beanName);
             if (current == null) {
                 return result;
@@ -179,8 +201,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
     @Override
     public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) throws BeansException {
+        return applyBeanPostProcessorsAfterInitialization(getBeanPostProcessorCache().getAll(), existingBean, beanName);
+    }
+
+    private Object applyBeanPostProcessorsAfterInitialization(BeanPostProcessor[] beanPostProcessors, Object existingBean, String beanName) {
         Object result = existingBean;
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
             Object current = beanPostProcessor.postProcessAfterInitialization(existingBean, beanName);
             if (current == null) {
                 return result;
@@ -194,40 +220,83 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * 为bean填充属性
      *
      * @param bean bean
-     * @param beanDefinition bean 信息
+     * @param plan bean 的创建计划
      */
-    protected void applyPropertyValues(String beanName, Object bean, BeanDefinition beanDefinition) {
+    private void applyPropertyValues(String beanName, Object bean, BeanCreationPlan plan) {
         try {
-            PropertyValues propertyValues = beanDefinition.getPropertyValues();
-            if (propertyValues == null) {
+            if (plan.isPropertyValuesModified()) {
+                // 属性值在编译计划之后被后处理器修改过，本次按名称解析
+                for (PropertyValue propertyValue : plan.getBeanDefinition().getPropertyValues().getPropertyValues()) {
+                    BeanCreationPlan.PropertyBinding binding = new BeanCreationPlan.PropertyBinding(
+                            getPropertyAccessor(bean.getClass(), propertyValue.getName()), propertyValue.getValue());
+                    applyPropertyBinding(bean, binding);
+                }
                 return;
             }
-            for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
-                String name = propertyValue.getName();
-                Object value = propertyValue.getValue();
-
-                if (value instanceof BeanReference beanReference) {
-                    String referenceBeanName = beanReference.getBeanName();
-                    value = getBean(referenceBeanName);
-                } else {
-                    Class<?> sourceType = value.getClass();
-                    Class<?> targetType =(Class<?>) TypeUtil.getFieldType(bean.getClass(), name);
-                    ConversionService conversionService = getConversionService();
-                    if (conversionService != null) {
-                        if (conversionService.canConvert(sourceType, targetType)) {
-                            value = conversionService.convert(value, targetType);
-                        }
-                    }
-                }
-
-                //通过 HuTool 经过反射设置属性而不是通过 set 方法
-                BeanUtil.setFieldValue(bean, name, value);
+            for (BeanCreationPlan.PropertyBinding binding : plan.getPropertyBindings()) {
+                applyPropertyBinding(bean, binding);
             }
         } catch (Exception e) {
             throw new BeansException("Error setting property values for bean: " + beanName, e);
         }
     }
 
+    private void applyPropertyBinding(Object bean, BeanCreationPlan.PropertyBinding binding) {
+        BeanPropertyAccessor accessor = binding.getAccessor();
+        Object value;
+        if (binding.getReferenceBeanName() != null) {
+            value = getBean(binding.getReferenceBeanName());
+        } else {
+            boolean cacheConvertedValue = this.cacheConvertedPropertyValues;
+            ConversionService conversionService = getConversionService();
+            BeanCreationPlan.ConvertedValue convertedValue = cacheConvertedValue ? binding.getConvertedValue(conversionService) : null;
+            if (convertedValue != null) {
+                value = convertedValue.getValue();
+            } else {
+                value = convertPropertyValue(binding.getValue(), accessor.getPropertyType());
+                // 不可变的转换结果可以安全地在多个实例之间共享
+                if (cacheConvertedValue && BeanCreationPlan.isImmutableValue(value)) {
+                    binding.setConvertedValue(conversionService, value);
+                }
+            }
+        }
+
+        // 通过预先解析的 setter 或字段设置属性
+        accessor.setValue(bean, value);
+    }
+
+    /**
+     * 将字面量属性值转换为属性类型：优先使用类型转换服务，否则退回到 hutool 的默认转换
+     */
+    private Object convertPropertyValue(Object value, Class<?> targetType) {
+        if (value == null) {
+            return null;
+        }
+        ConversionService conversionService = getConversionService();
+        if (conversionService != null && conversionService.canConvert(value.getClass(), targetType)) {
+            return conversionService.convert(value, targetType);
+        }
+        if (!BasicType.wrap(targetType).isInstance(value)) {
+            return Convert.convert(targetType, value);
+        }
+        return value;
+    }
+
+    /**
+     * 获取属性访问器，每个 (类, 属性名) 只解析一次
+     */
+    BeanPropertyAccessor getPropertyAccessor(Class<?> beanClass, String propertyName) throws BeansException {
+        return propertyAccessorCache
+                .computeIfAbsent(beanClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(propertyName, name -> BeanPropertyAccessor.forProperty(beanClass, name));
+    }
+
+    @Override
+    public void clearMetadataCache() {
+        propertyAccessorCache.clear();
+        creationPlans.clear();
+    }
+
     public Object createBeanInstance(BeanDefinition beanDefinition) {
         return getInstantiationStrategy().instantiate(beanDefinition);
     }
@@ -236,21 +305,14 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * bean 的初始化方法
      * @param beanName 需要初始化的 bean 的名字
      * @param bean 需要初始化的 bean
-     * @param beanDefinition 需要初始化的 bean 的 beanDefinition
+     * @param plan 需要初始化的 bean 的创建计划
      */
-    protected void invokeInitMethods(String beanName, Object bean, BeanDefinition beanDefinition) throws Throwable{
+    private void invokeInitMethods(String beanName, Object bean, BeanCreationPlan plan) throws Throwable {
         if (bean instanceof InitializingBean) {
             ((InitializingBean) bean).afterPropertiesSet();
         }
 
-        String initMethodName = beanDefinition.getInitMethodName();
-        if (StrUtil.isNotEmpty(initMethodName)) {
-            Method initMethod = ClassUtil.getPublicMethod(beanDefinition.getBeanClass(), initMethodName);
-            if (initMethod == null) {
-                throw new BeansException("Could not find an init method named '" + initMethodName + "' on bean with name '" + beanName + "'");
-            }
-            initMethod.invoke(bean);
-        }
+        plan.invokeInitMethod(beanName, bean);
     }
 
     public InstantiationStrategy getInstantiationStrategy() {
@@ -261,15 +323,26 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         this.instantiationStrategy = instantiationStrategy;
     }
 
-    private void applyBeanPostprocessorsBeforeApplyingProperties(String beanName, Object bean, BeanDefinition beanDefinition) {
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                PropertyValues pvs = ((InstantiationAwareBeanPostProcessor) beanPostProcessor)
-                                .postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
-                if (pvs != null) {
-                    for (PropertyValue propertyValue : pvs.getPropertyValues()) {
-                        beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
-                    }
+    public boolean isCacheConvertedPropertyValues() {
+        return cacheConvertedPropertyValues;
+    }
+
+    /**
+     * 是否缓存字面量属性值的转换结果，默认开启。
+     * 只有 String、基本类型、枚举、java.time 等不可变的转换结果会被缓存；
+     * 如果自定义的 Converter 依赖外部状态，每次转换的结果可能不同，可以关闭缓存
+     */
+    public void setCacheConvertedPropertyValues(boolean cacheConvertedPropertyValues) {
+        this.cacheConvertedPropertyValues = cacheConvertedPropertyValues;
+    }
+
+    private void applyBeanPostprocessorsBeforeApplyingProperties(BeanCreationPlan plan, String beanName, Object bean) {
+        BeanDefinition beanDefinition = plan.getBeanDefinition();
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : plan.getInstantiationAwareBeanPostProcessors()) {
+            PropertyValues pvs = beanPostProcessor.postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
+            if (pvs != null) {
+                for (PropertyValue propertyValue : pvs.getPropertyValues()) {
+                    beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
                 }
             }
         }
@@ -6,13 +6,17 @@ import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.util.StringValueResolver;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * BeanFactory 接口的抽象实现。
@@ -27,9 +31,10 @@ import java.util.Map;
  */
 public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry implements ConfigurableBeanFactory {
 
-    private final List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+    // 按能力分好组的 BeanPostProcessor 快照，只在 addBeanPostProcessor 时整体替换，读取时无需加锁
+    private volatile BeanPostProcessorCache beanPostProcessorCache = new BeanPostProcessorCache(new BeanPostProcessor[0]);
 
-    private final Map<String, Object> factoryBeanObjectCache = new HashMap<>();
+    private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>();
 
     private final List<StringValueResolver> embeddedValueResolvers = new ArrayList<>();
 
@@ -43,7 +48,13 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         }
 
         BeanDefinition beanDefinition = getBeanDefinition(name);
-        Object bean = createBean(name, beanDefinition);
+        Object bean;
+        if (beanDefinition.isSingleton()) {
+            // 同一单例的并发首次请求只创建一次
+            bean = getSingleton(name, () -> createBean(name, beanDefinition));
+        } else {
+            bean = createBean(name, beanDefinition);
+        }
         return getObjectForBeanInstance(bean, name);
     }
 
@@ -55,8 +66,13 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
                 if (factoryBean.isSingleton()) {
                     object = this.factoryBeanObjectCache.get(beanName);
                     if (object == null) {
-                        object = factoryBean.getObject();
-                        this.factoryBeanObjectCache.put(beanName, object);
+                        synchronized (this.factoryBeanObjectCache) {
+                            object = this.factoryBeanObjectCache.get(beanName);
+                            if (object == null) {
+                                object = factoryBean.getObject();
+                                this.factoryBeanObjectCache.put(beanName, object);
+                            }
+                        }
                     }
                 } else {
                     //prototype作用域bean，新创建bean
@@ -80,8 +96,12 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 
     @Override
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
-        this.beanPostProcessors.remove(beanPostProcessor);
-        this.beanPostProcessors.add(beanPostProcessor);
+        synchronized (this) {
+            List<BeanPostProcessor> beanPostProcessors = new ArrayList<>(Arrays.asList(this.beanPostProcessorCache.getAll()));
+            beanPostProcessors.remove(beanPostProcessor);
+            beanPostProcessors.add(beanPostProcessor);
+            this.beanPostProcessorCache = new BeanPostProcessorCache(beanPostProcessors.toArray(new BeanPostProcessor[0]));
+        }
     }
 
     @Override
@@ -102,7 +122,11 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
     protected abstract boolean containsBeanDefinition(String beanName);
 
     protected List<BeanPostProcessor> getBeanPostProcessors() {
-        return this.beanPostProcessors;
+        return Collections.unmodifiableList(Arrays.asList(this.beanPostProcessorCache.getAll()));
+    }
+
+    protected BeanPostProcessorCache getBeanPostProcessorCache() {
+        return this.beanPostProcessorCache;
     }
 
     public void addEmbeddedValueResolver(StringValueResolver resolver) {
@@ -116,4 +140,44 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         }
         return result;
     }
+
+    /**
+     * 不可变的 BeanPostProcessor 快照，按能力预先分组，生命周期各阶段只遍历需要的数组，不再做 instanceof 判断
+     */
+    protected static final class BeanPostProcessorCache {
+
+        private final BeanPostProcessor[] all;
+
+        private final InstantiationAwareBeanPostProcessor[] instantiationAware;
+
+        private final SmartInstantiationAwareBeanPostProcessor[] smartInstantiationAware;
+
+        BeanPostProcessorCache(BeanPostProcessor[] all) {
+            List<InstantiationAwareBeanPostProcessor> instantiationAware = new ArrayList<>();
+            List<SmartInstantiationAwareBeanPostProcessor> smartInstantiationAware = new ArrayList<>();
+            for (BeanPostProcessor beanPostProcessor : all) {
+                if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
+                    instantiationAware.add((InstantiationAwareBeanPostProcessor) beanPostProcessor);
+                }
+                if (beanPostProcessor instanceof SmartInstantiationAwareBeanPostProcessor) {
+                    smartInstantiationAware.add((SmartInstantiationAwareBeanPostProcessor) beanPostProcessor);
+                }
+            }
+            this.all = all;
+            this.instantiationAware = instantiationAware.toArray(new InstantiationAwareBeanPostProcessor[0]);
+            this.smartInstantiationAware = smartInstantiationAware.toArray(new SmartInstantiationAwareBeanPostProcessor[0]);
+        }
+
+        public BeanPostProcessor[] getAll() {
+            return all;
+        }
+
+        public InstantiationAwareBeanPostProcessor[] getInstantiationAware() {
+            return instantiationAware;
+        }
+
+        public SmartInstantiationAwareBeanPostProcessor[] getSmartInstantiationAware() {
+            return smartInstantiationAware;
+        }
+    }
 }
@@ -0,0 +1,269 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.StrUtil;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.core.convert.ConversionService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 由 BeanDefinition 编译得到的不可变创建计划。
+ * <p>
+ * 首次创建某个 bean 时编译一次，之后每次创建（尤其是 prototype bean）直接复用：
+ * 1. 预先筛选出作用于该 bean 类型的 BeanPostProcessor 和 InstantiationAwareBeanPostProcessor，
+ *    没有时跳过实例化前后、属性后处理以及包装早期引用等阶段
+ * 2. 预先解析每个属性的访问器，以及属性引用的 bean 名称
+ * 3. 预先解析 init-method，判断是否实现 BeanFactoryAware、是否需要注册销毁回调
+ * <p>
+ * 计划依赖编译时的 BeanPostProcessor 列表和 BeanDefinition：注册新的 BeanPostProcessor 时所有计划失效；
+ * BeanDefinition 被替换、bean 类型或属性值被修改时对应的计划会重新编译。
+ * 修改 BeanDefinition 的其他配置（如 init-method）后需要调用 {@link org.springframework.beans.factory.config.ConfigurableBeanFactory#clearMetadataCache()}。
+ *
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+final class BeanCreationPlan {
+
+    private static final MethodType INIT_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final BeanDefinition beanDefinition;
+
+    private final Class<?> beanClass;
+
+    private final PropertyValues propertyValues;
+
+    private final int propertyValuesModificationCount;
+
+    // 编译时的 BeanPostProcessor 快照，注册新的 BeanPostProcessor 后快照被替换，计划随之失效
+    private final AbstractBeanFactory.BeanPostProcessorCache beanPostProcessorCache;
+
+    private final BeanPostProcessor[] beanPostProcessors;
+
+    private final InstantiationAwareBeanPostProcessor[] instantiationAwareBeanPostProcessors;
+
+    private final PropertyBinding[] propertyBindings;
+
+    private final boolean beanFactoryAware;
+
+    private final String initMethodName;
+
+    private final MethodHandle initMethod;
+
+    private final boolean requiresDestruction;
+
+    private BeanCreationPlan(BeanDefinition beanDefinition, AbstractBeanFactory.BeanPostProcessorCache beanPostProcessorCache,
+                             BeanPostProcessor[] beanPostProcessors,
+                             InstantiationAwareBeanPostProcessor[] instantiationAwareBeanPostProcessors,
+                             PropertyBinding[] propertyBindings, MethodHandle initMethod) {
+        this.beanDefinition = beanDefinition;
+        this.beanClass = beanDefinition.getBeanClass();
+        this.propertyValues = beanDefinition.getPropertyValues();
+        this.propertyValuesModificationCount = propertyValues != null ? propertyValues.getModificationCount() : 0;
+        this.beanPostProcessorCache = beanPostProcessorCache;
+        this.beanPostProcessors = beanPostProcessors;
+        this.instantiationAwareBeanPostProcessors = instantiationAwareBeanPostProcessors;
+        this.propertyBindings = propertyBindings;
+        this.beanFactoryAware = BeanFactoryAware.class.isAssignableFrom(beanClass);
+        this.initMethodName = beanDefinition.getInitMethodName();
+        this.initMethod = initMethod;
+        // 只有 singleton 类型才会执行销毁方法
+        this.requiresDestruction = beanDefinition.isSingleton()
+                && (DisposableBean.class.isAssignableFrom(beanClass) || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName()));
+    }
+
+    static BeanCreationPlan compile(AbstractAutowireCapableBeanFactory beanFactory, BeanDefinition beanDefinition) throws BeansException {
+        AbstractBeanFactory.BeanPostProcessorCache beanPostProcessorCache = beanFactory.getBeanPostProcessorCache();
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        // 只保留作用于该 bean 类型的后处理器
+        List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessorCache.getAll()) {
+            if (beanPostProcessor.supportsBeanType(beanClass)) {
+                beanPostProcessors.add(beanPostProcessor);
+            }
+        }
+        List<InstantiationAwareBeanPostProcessor> instantiationAwareBeanPostProcessors = new ArrayList<>();
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : beanPostProcessorCache.getInstantiationAware()) {
+            if (beanPostProcessor.supportsBeanType(beanClass)) {
+                instantiationAwareBeanPostProcessors.add(beanPostProcessor);
+            }
+        }
+
+        List<PropertyBinding> propertyBindings = new ArrayList<>();
+        if (beanDefinition.getPropertyValues() != null) {
+            for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+                propertyBindings.add(new PropertyBinding(
+                        beanFactory.getPropertyAccessor(beanClass, propertyValue.getName()), propertyValue.getValue()));
+            }
+        }
+
+        MethodHandle initMethod = null;
+        String initMethodName = beanDefinition.getInitMethodName();
+        if (StrUtil.isNotEmpty(initMethodName)) {
+            // 找不到时推迟到调用初始化方法时再报错
+            Method method = ClassUtil.getPublicMethod(beanClass, initMethodName);
+            if (method != null) {
+                try {
+                    method.setAccessible(true);
+                    initMethod = MethodHandles.lookup().unreflect(method).asType(INIT_METHOD_TYPE);
+                } catch (Exception e) {
+                    throw new BeansException("Could not access init method '" + initMethodName + "' of " + beanClass.getName(), e);
+                }
+            }
+        }
+
+        return new BeanCreationPlan(beanDefinition, beanPostProcessorCache, beanPostProcessors.toArray(new BeanPostProcessor[0]),
+                instantiationAwareBeanPostProcessors.toArray(new InstantiationAwareBeanPostProcessor[0]),
+                propertyBindings.toArray(new PropertyBinding[0]), initMethod);
+    }
+
+    /**
+     * 计划是否仍然与 BeanDefinition 一致
+     */
+    boolean matches(BeanDefinition beanDefinition, AbstractBeanFactory.BeanPostProcessorCache beanPostProcessorCache) {
+        return this.beanPostProcessorCache == beanPostProcessorCache
+                && this.beanDefinition == beanDefinition
+                && beanClass == beanDefinition.getBeanClass()
+                && propertyValues == beanDefinition.getPropertyValues()
+                && !isPropertyValuesModified();
+    }
+
+    /**
+     * 属性值在编译之后是否被修改过，例如被 InstantiationAwareBeanPostProcessor 添加了属性
+     */
+    boolean isPropertyValuesModified() {
+        return propertyValues != null && propertyValues.getModificationCount() != propertyValuesModificationCount;
+    }
+
+    BeanDefinition getBeanDefinition() {
+        return beanDefinition;
+    }
+
+    BeanPostProcessor[] getBeanPostProcessors() {
+        return beanPostProcessors;
+    }
+
+    InstantiationAwareBeanPostProcessor[] getInstantiationAwareBeanPostProcessors() {
+        return instantiationAwareBeanPostProcessors;
+    }
+
+    boolean hasInstantiationAwareBeanPostProcessors() {
+        return instantiationAwareBeanPostProcessors.length > 0;
+    }
+
+    PropertyBinding[] getPropertyBindings() {
+        return propertyBindings;
+    }
+
+    boolean isBeanFactoryAware() {
+        return beanFactoryAware;
+    }
+
+    boolean requiresDestruction() {
+        return requiresDestruction;
+    }
+
+    void invokeInitMethod(String beanName, Object bean) throws Throwable {
+        if (initMethod != null) {
+            initMethod.invokeExact(bean);
+        } else if (StrUtil.isNotEmpty(initMethodName)) {
+            throw new BeansException("Could not find an init method named '" + initMethodName + "' on bean with name '" + beanName + "'");
+        }
+    }
+
+    /**
+     * 一个属性的填充方式：属性访问器，以及引用的 bean 名称或字面量值。
+     * 字面量转换为属性类型后的结果如果是不可变对象，会缓存起来供后续创建直接使用
+     */
+    static final class PropertyBinding {
+
+        private final BeanPropertyAccessor accessor;
+
+        private final String referenceBeanName;
+
+        private final Object value;
+
+        private volatile ConvertedValue convertedValue;
+
+        PropertyBinding(BeanPropertyAccessor accessor, Object value) {
+            this.accessor = accessor;
+            this.referenceBeanName = value instanceof BeanReference ? ((BeanReference) value).getBeanName() : null;
+            this.value = value;
+        }
+
+        BeanPropertyAccessor getAccessor() {
+            return accessor;
+        }
+
+        /**
+         * @return 引用的 bean 名称，字面量属性返回 null
+         */
+        String getReferenceBeanName() {
+            return referenceBeanName;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        /**
+         * @return 使用指定转换服务缓存的转换结果，没有时返回 null
+         */
+        ConvertedValue getConvertedValue(ConversionService conversionService) {
+            ConvertedValue converted = this.convertedValue;
+            return converted != null && converted.conversionService == conversionService ? converted : null;
+        }
+
+        void setConvertedValue(ConversionService conversionService, Object value) {
+            this.convertedValue = new ConvertedValue(conversionService, value);
+        }
+    }
+
+    /**
+     * 字面量的转换结果，以及转换时使用的转换服务；转换服务被替换后缓存失效
+     */
+    static final class ConvertedValue {
+
+        private final ConversionService conversionService;
+
+        private final Object value;
+
+        ConvertedValue(ConversionService conversionService, Object value) {
+            this.conversionService = conversionService;
+            this.value = value;
+        }
+
+        Object getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * 判断转换结果是否为不可变对象，只有不可变对象才能在多个 bean 实例之间共享
+     */
+    static boolean isImmutableValue(Object value) {
+        if (value == null) {
+            return true;
+        }
+        Class<?> type = value.getClass();
+        return type == String.class || ClassUtil.isBasicType(type) || type.isEnum()
+                || type == BigDecimal.class || type == BigInteger.class || type == Class.class || type == UUID.class
+                || type.getName().startsWith("java.time.");
+    }
+}
@@ -0,0 +1,103 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 预先解析好的 bean 属性访问器，对应一个 (类, 属性名)。
+ * <p>
+ * 创建时解析属性类型并生成 MethodHandle 形式的 setter：优先使用公开的 setXxx 方法，
+ * 没有 setter 时退回到直接写字段（包括父类中声明的字段）。
+ * 由 {@link AbstractAutowireCapableBeanFactory} 缓存，填充属性时不再按名字反射查找字段。
+ *
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+final class BeanPropertyAccessor {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String propertyName;
+
+    private final Class<?> propertyType;
+
+    private final MethodHandle setter;
+
+    private BeanPropertyAccessor(String propertyName, Class<?> propertyType, MethodHandle setter) {
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.setter = setter;
+    }
+
+    static BeanPropertyAccessor forProperty(Class<?> beanClass, String propertyName) throws BeansException {
+        Field field = findField(beanClass, propertyName);
+        try {
+            Method setterMethod = findSetterMethod(beanClass, propertyName, field != null ? field.getType() : null);
+            if (setterMethod != null) {
+                setterMethod.setAccessible(true);
+                return new BeanPropertyAccessor(propertyName, setterMethod.getParameterTypes()[0],
+                        MethodHandles.lookup().unreflect(setterMethod).asType(SETTER_TYPE));
+            }
+            if (field != null) {
+                field.setAccessible(true);
+                return new BeanPropertyAccessor(propertyName, field.getType(),
+                        MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE));
+            }
+        } catch (Exception e) {
+            throw new BeansException("Could not create accessor for property '" + propertyName + "' of " + beanClass.getName(), e);
+        }
+        throw new BeansException("No property '" + propertyName + "' found on " + beanClass.getName());
+    }
+
+    /**
+     * 查找 setter，有多个重载时优先选择参数类型与同名字段一致的方法
+     */
+    private static Method findSetterMethod(Class<?> beanClass, String propertyName, Class<?> fieldType) {
+        String setterName = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        Method candidate = null;
+        for (Method method : beanClass.getMethods()) {
+            if (method.getName().equals(setterName) && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                if (method.getParameterTypes()[0] == fieldType) {
+                    return method;
+                }
+                if (candidate == null) {
+                    candidate = method;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    private static Field findField(Class<?> beanClass, String propertyName) {
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(propertyName);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            } catch (NoSuchFieldException ignored) {
+                // 继续在父类中查找
+            }
+        }
+        return null;
+    }
+
+    Class<?> getPropertyType() {
+        return propertyType;
+    }
+
+    void setValue(Object bean, Object value) throws BeansException {
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw new BeansException("Could not set property '" + propertyName + "' of " + bean.getClass().getName(), e);
+        }
+    }
+}
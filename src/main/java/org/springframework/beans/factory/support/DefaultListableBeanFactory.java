@@ -1,10 +1,15 @@
 package org.springframework.beans.factory.support;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.factory.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * DefaultListableBeanFactory 是 Spring 容器中最核心的 BeanFactory 实现之一，
@@ -25,9 +30,127 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     private final Map<String, BeanDefinition> beanDefinitionMap = new HashMap<>();
 
+    // 预实例化单例时使用的线程池，为 null 时按顺序创建
+    private Executor bootstrapExecutor;
+
+    // 最近一次并行预实例化的报告
+    private PreInstantiationReport preInstantiationReport;
+
+    private static final String[] NO_BEAN_NAMES = new String[0];
+
+    /**
+     * 类型索引：类型（bean 的类及其所有父类、接口）-> 该类型的 bean 名称（按注册顺序）。
+     * 索引在注册 BeanDefinition 时增量维护，覆盖全部类型，因此不在索引中的类型即没有匹配的 bean，
+     * 按类型查找的代价只与匹配的 bean 数量有关。数组只会整体替换，不会被修改。
+     * BeanFactoryPostProcessor 通过 {@link BeanDefinition#setBeanClass} 修改的类型在 {@link #clearMetadataCache()} 时重新索引。
+     */
+    private final Map<Class<?>, String[]> beanNamesByType = new ConcurrentHashMap<>(64);
+
+    // bean 名称 -> 建立索引时使用的类型，用于覆盖注册时从索引中移除旧类型
+    private final Map<String, Class<?>> indexedBeanTypes = new HashMap<>();
+
     @Override
     public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
-        beanDefinitionMap.put(beanName, beanDefinition);
+        synchronized (this.beanNamesByType) {
+            beanDefinitionMap.put(beanName, beanDefinition);
+            Class<?> previousType = indexedBeanTypes.put(beanName, beanDefinition.getBeanClass());
+            if (previousType != null) {
+                for (Class<?> type : getTypeHierarchy(previousType)) {
+                    removeFromTypeIndex(type, beanName);
+                }
+            }
+            for (Class<?> type : getTypeHierarchy(beanDefinition.getBeanClass())) {
+                addToTypeIndex(type, beanName);
+            }
+        }
+    }
+
+    /**
+     * 除了父类中的属性访问器和创建计划，还要重新检查类型索引
+     */
+    @Override
+    public void clearMetadataCache() {
+        super.clearMetadataCache();
+        refreshTypeIndex();
+    }
+
+    /**
+     * 比较每个 BeanDefinition 当前的 beanClass 与建立索引时的类型，重新索引发生变化的 bean
+     */
+    private void refreshTypeIndex() {
+        synchronized (this.beanNamesByType) {
+            for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+                String beanName = entry.getKey();
+                Class<?> beanClass = entry.getValue().getBeanClass();
+                Class<?> indexedType = indexedBeanTypes.put(beanName, beanClass);
+                if (indexedType == beanClass) {
+                    continue;
+                }
+                // 新旧类型共有的父类型保持原来的顺序，只调整发生变化的类型
+                Set<Class<?>> previousTypes = indexedType != null ? getTypeHierarchy(indexedType) : Collections.emptySet();
+                Set<Class<?>> currentTypes = getTypeHierarchy(beanClass);
+                for (Class<?> type : previousTypes) {
+                    if (!currentTypes.contains(type)) {
+                        removeFromTypeIndex(type, beanName);
+                    }
+                }
+                for (Class<?> type : currentTypes) {
+                    if (!previousTypes.contains(type)) {
+                        addToTypeIndex(type, beanName);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addToTypeIndex(Class<?> type, String beanName) {
+        String[] beanNames = beanNamesByType.getOrDefault(type, NO_BEAN_NAMES);
+        String[] updated = Arrays.copyOf(beanNames, beanNames.length + 1);
+        updated[beanNames.length] = beanName;
+        beanNamesByType.put(type, updated);
+    }
+
+    private void removeFromTypeIndex(Class<?> type, String beanName) {
+        String[] beanNames = beanNamesByType.get(type);
+        if (beanNames == null) {
+            return;
+        }
+        List<String> remaining = new ArrayList<>(Arrays.asList(beanNames));
+        remaining.remove(beanName);
+        if (remaining.isEmpty()) {
+            beanNamesByType.remove(type);
+        } else {
+            beanNamesByType.put(type, remaining.toArray(NO_BEAN_NAMES));
+        }
+    }
+
+    /**
+     * 获取类型本身及其所有父类和接口（包括接口的父接口）
+     */
+    private static Set<Class<?>> getTypeHierarchy(Class<?> beanClass) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.push(beanClass);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.pop();
+            if (!types.add(type)) {
+                continue;
+            }
+            if (type.getSuperclass() != null) {
+                pending.push(type.getSuperclass());
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                pending.push(anInterface);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 从类型索引中获取 bean 名称，返回的数组不能被修改
+     */
+    private String[] doGetBeanNamesForType(Class<?> type) {
+        return beanNamesByType.getOrDefault(type, NO_BEAN_NAMES);
     }
 
     @Override
@@ -47,12 +170,65 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     /**
      * 提前初始化所有的单例 Bean（即容器启动时一次性创建所有非懒加载单例 Bean）
      * 触发所有 Bean 的创建过程
+     * <p>
+     * 设置了 bootstrapExecutor 时，按照依赖图在线程池中并行创建互不依赖的单例，
+     * 并记录耗时最长的依赖链，见 {@link #getPreInstantiationReport()}
      *
      * @throws BeansException 创建失败时抛出异常
      */
     @Override
     public void preInstantiateSingletons() throws BeansException {
-        this.beanDefinitionMap.keySet().forEach(this::getBean);
+        // 直接调用 BeanFactoryPostProcessor（不经过 ApplicationContext）时也能看到修改后的类型
+        clearMetadataCache();
+        if (this.bootstrapExecutor == null) {
+            this.beanDefinitionMap.keySet().forEach(this::getBean);
+            return;
+        }
+        ParallelSingletonPreInstantiator preInstantiator = new ParallelSingletonPreInstantiator(this, this.bootstrapExecutor);
+        this.preInstantiationReport = preInstantiator.preInstantiate(getBeanDefinitionNames());
+    }
+
+    /**
+     * 获取指定 bean 依赖的其他 bean 的名称，包括 XML 中的 ref 属性，
+     * 以及 {@link SmartInstantiationAwareBeanPostProcessor} 声明的依赖（如 @Autowired 字段）
+     *
+     * @param beanName bean 名称
+     * @return 依赖的 bean 名称
+     */
+    protected String[] getDependenciesForBean(String beanName) {
+        BeanDefinition beanDefinition = getBeanDefinition(beanName);
+        Set<String> dependencies = new LinkedHashSet<>();
+        for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+            if (propertyValue.getValue() instanceof BeanReference beanReference) {
+                dependencies.add(beanReference.getBeanName());
+            }
+        }
+        for (SmartInstantiationAwareBeanPostProcessor beanPostProcessor : getBeanPostProcessorCache().getSmartInstantiationAware()) {
+            if (!beanPostProcessor.supportsBeanType(beanDefinition.getBeanClass())) {
+                continue;
+            }
+            String[] determined = beanPostProcessor.determineDependencies(beanDefinition.getBeanClass(), beanName);
+            if (determined != null) {
+                dependencies.addAll(Arrays.asList(determined));
+            }
+        }
+        return dependencies.toArray(new String[0]);
+    }
+
+    @Override
+    public void setBootstrapExecutor(Executor bootstrapExecutor) {
+        this.bootstrapExecutor = bootstrapExecutor;
+    }
+
+    public Executor getBootstrapExecutor() {
+        return bootstrapExecutor;
+    }
+
+    /**
+     * @return 最近一次并行预实例化的报告（包含关键路径），未使用并行模式时返回 null
+     */
+    public PreInstantiationReport getPreInstantiationReport() {
+        return preInstantiationReport;
     }
 
     /**
@@ -64,30 +240,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     @Override
     public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
-        HashMap<String, T> result = new HashMap<>();
-        beanDefinitionMap.forEach((beanName, beanDefinition) -> {
-            if (type.isAssignableFrom(beanDefinition.getBeanClass())) {
-                T bean = (T) getBean(beanName);
-                result.put(beanName, bean);
-            }
-        });
+        String[] beanNames = doGetBeanNamesForType(type);
+        Map<String, T> result = new LinkedHashMap<>(beanNames.length * 2);
+        for (String beanName : beanNames) {
+            @SuppressWarnings("unchecked")
+            T bean = (T) getBean(beanName);
+            result.put(beanName, bean);
+        }
         return result;
     }
 
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        return doGetBeanNamesForType(type).clone();
+    }
+
     public  <T> T getBean(Class<T> requiredType) {
-        List<String> beanNames = new ArrayList<>();
-        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
-            Class<?> beanClass = entry.getValue().getBeanClass();
-            if (requiredType.isAssignableFrom(beanClass)) {
-                beanNames.add(entry.getKey());
-            }
-        }
-        if (beanNames.size() == 1) {
-            return requiredType.cast(getBean(beanNames.get(0)));
+        String[] beanNames = doGetBeanNamesForType(requiredType);
+        if (beanNames.length == 1) {
+            return requiredType.cast(getBean(beanNames[0]));
         }
 
         throw new BeansException(requiredType + "expected single bean but found " +
-                beanNames.size() + ": " + beanNames);
+                beanNames.length + ": " + Arrays.toString(beanNames));
     }
 
     @Override
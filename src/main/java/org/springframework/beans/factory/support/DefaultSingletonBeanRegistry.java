@@ -5,14 +5,24 @@ import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SingletonBeanRegistry 接口的默认实现。
  * 此注册表包含一个以 Bean 名称为键的单例 Bean 实例映射。
  * 它提供了检索和注册单例的基本方法。
+ * <p>
+ * 线程安全：
+ * - 已创建完成的单例直接从一级缓存（ConcurrentHashMap）读取，不加锁也不分配对象。
+ * - 同一个单例的并发首次请求只会创建一次，其余线程阻塞等待创建结果，见 {@link #getSingleton(String, ObjectFactory)}。
+ * - 二级、三级缓存只对正在创建该 bean 的线程可见，其他线程不会拿到未初始化完成的早期引用；
+ *   只有当多个线程的等待关系构成循环（跨线程的循环依赖）时，才会像单线程循环依赖一样返回早期引用。
  *
  * @author zhenghong
  * @date 2025/5/31
@@ -20,28 +30,162 @@ import java.util.Set;
 public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
     // 一级缓存
-    private final Map<String,Object> singletonObjects = new HashMap<>();
+    private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
-    private final Map<String, DisposableBean> disposableBeans = new HashMap<>();
+    private final Map<String, DisposableBean> disposableBeans = new LinkedHashMap<>();
 
     // 二级缓存
-    protected final Map<String, Object> earlySingletonObjects = new HashMap<>();
+    protected final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
-    // 三级缓存
-    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>();
+    // 三级缓存，读写都在 synchronized (singletonFactories) 中进行
+    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+
+    // 正在创建中的单例 -> 创建它的线程
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>(16);
+
+    // 正在等待其他线程创建单例的线程 -> 所等待的单例名称，用于检测跨线程的循环等待
+    private final Map<Thread, String> threadsAwaitingSingleton = new HashMap<>();
+
+    // 等待/唤醒单例创建结果所用的监视器，只在发生创建竞争时使用
+    private final Object creationMonitor = new Object();
 
     @Override
     public Object getSingleton(String beanName) {
         Object singletonObject = singletonObjects.get(beanName);
-        if (singletonObject == null) {
-            singletonObject = earlySingletonObjects.get(beanName);
+        if (singletonObject == null && singletonsCurrentlyInCreation.get(beanName) == Thread.currentThread()) {
+            singletonObject = getEarlySingleton(beanName);
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 获取指定名称的单例，如果不存在则通过 singletonFactory 创建并注册。
+     * <p>
+     * 同一个 beanName 同一时刻只会有一个线程执行 singletonFactory，其他线程等待其创建完成后直接返回结果；
+     * 如果创建失败，等待中的线程会重新尝试创建。
+     *
+     * @param beanName         bean 名称
+     * @param singletonFactory 创建单例的工厂，通常是 createBean 的回调
+     * @return 单例对象
+     */
+    public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+        Thread currentThread = Thread.currentThread();
+        while (true) {
+            Object singletonObject = singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
+            Thread creator = singletonsCurrentlyInCreation.putIfAbsent(beanName, currentThread);
+            if (creator == null) {
+                return createSingleton(beanName, singletonFactory);
+            }
+            if (creator == currentThread) {
+                throw new BeansException("Requested bean '" + beanName + "' is currently in creation: " +
+                        "Is there an unresolvable circular reference?");
+            }
+            singletonObject = awaitSingleton(beanName, currentThread);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
+            // 创建者失败，重新竞争创建权
+        }
+    }
+
+    private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+        try {
+            // 在上一次 get 与抢到创建权之间，其他线程可能已经完成创建
+            Object singletonObject = singletonObjects.get(beanName);
             if (singletonObject == null) {
-                ObjectFactory<?> objectFactory = singletonFactories.get(beanName);
-                if (objectFactory != null) {
-                    singletonObject = objectFactory.getObject();
-                    // 将三级缓存中的内容放进二级缓存
-                    earlySingletonObjects.put(beanName, singletonObject);
-                    singletonFactories.remove(beanName);
+                singletonObject = singletonFactory.getObject();
+                Object registered = singletonObjects.get(beanName);
+                if (registered != null) {
+                    singletonObject = registered;
+                } else {
+                    addSingleton(beanName, singletonObject);
+                }
+            }
+            return singletonObject;
+        } finally {
+            synchronized (singletonFactories) {
+                singletonFactories.remove(beanName);
+                earlySingletonObjects.remove(beanName);
+            }
+            synchronized (creationMonitor) {
+                singletonsCurrentlyInCreation.remove(beanName);
+                creationMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 等待其他线程创建指定的单例。
+     *
+     * @return 创建完成的单例；若形成跨线程循环等待则返回早期引用；若创建者失败则返回 null
+     */
+    private Object awaitSingleton(String beanName, Thread currentThread) {
+        synchronized (creationMonitor) {
+            threadsAwaitingSingleton.put(currentThread, beanName);
+            try {
+                while (true) {
+                    Object singletonObject = singletonObjects.get(beanName);
+                    if (singletonObject != null) {
+                        return singletonObject;
+                    }
+                    Thread creator = singletonsCurrentlyInCreation.get(beanName);
+                    if (creator == null) {
+                        return null;
+                    }
+                    if (isAwaitingCurrentThread(creator, currentThread)) {
+                        // 跨线程循环依赖，与单线程时一样使用早期引用打破循环
+                        singletonObject = getEarlySingleton(beanName);
+                        if (singletonObject == null) {
+                            throw new BeansException("Requested bean '" + beanName + "' is currently in creation: " +
+                                    "Is there an unresolvable circular reference?");
+                        }
+                        return singletonObject;
+                    }
+                    creationMonitor.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BeansException("Interrupted while waiting for singleton bean '" + beanName + "'", e);
+            } finally {
+                threadsAwaitingSingleton.remove(currentThread);
+            }
+        }
+    }
+
+    /**
+     * 沿着 “线程 -> 等待的 bean -> 创建该 bean 的线程” 的链条查找，判断 creator 是否（间接地）在等待当前线程
+     */
+    private boolean isAwaitingCurrentThread(Thread creator, Thread currentThread) {
+        Thread thread = creator;
+        for (int i = 0; thread != null && i <= threadsAwaitingSingleton.size(); i++) {
+            if (thread == currentThread) {
+                return true;
+            }
+            String awaitedBeanName = threadsAwaitingSingleton.get(thread);
+            thread = awaitedBeanName != null ? singletonsCurrentlyInCreation.get(awaitedBeanName) : null;
+        }
+        return false;
+    }
+
+    /**
+     * 从二级、三级缓存中获取早期引用
+     */
+    private Object getEarlySingleton(String beanName) {
+        Object singletonObject = earlySingletonObjects.get(beanName);
+        if (singletonObject == null) {
+            synchronized (singletonFactories) {
+                singletonObject = earlySingletonObjects.get(beanName);
+                if (singletonObject == null) {
+                    ObjectFactory<?> objectFactory = singletonFactories.get(beanName);
+                    if (objectFactory != null) {
+                        singletonObject = objectFactory.getObject();
+                        // 将三级缓存中的内容放进二级缓存
+                        earlySingletonObjects.put(beanName, singletonObject);
+                        singletonFactories.remove(beanName);
+                    }
                 }
             }
         }
@@ -50,24 +194,58 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
     @Override
     public void addSingleton(String beanName, Object singletonObject) {
-        singletonObjects.put(beanName,singletonObject);
+        singletonObjects.put(beanName, singletonObject);
+        synchronized (singletonFactories) {
+            singletonFactories.remove(beanName);
+            earlySingletonObjects.remove(beanName);
+        }
     }
 
-    protected void registerDisposableBean(String beanName, DisposableBean disposableBean){
-        disposableBeans.put(beanName,disposableBean);
+    protected void registerDisposableBean(String beanName, DisposableBean disposableBean) {
+        synchronized (disposableBeans) {
+            disposableBeans.put(beanName, disposableBean);
+        }
     }
 
-    protected void addSingletonFactory(String beanName, ObjectFactory<?> objectFactory){
-        singletonFactories.put(beanName,objectFactory);
+    protected void addSingletonFactory(String beanName, ObjectFactory<?> objectFactory) {
+        synchronized (singletonFactories) {
+            if (!singletonObjects.containsKey(beanName)) {
+                singletonFactories.put(beanName, objectFactory);
+                earlySingletonObjects.remove(beanName);
+            }
+        }
     }
 
-    public void destroySingletons(){
-        Set<String> beanNames = disposableBeans.keySet();
-        for (String beanName : beanNames){
-            DisposableBean disposableBean = disposableBeans.remove(beanName);
+    /**
+     * 直接暴露早期引用，用于早期引用就是原始对象、不需要经过 ObjectFactory 包装的情况
+     */
+    protected void addEarlySingleton(String beanName, Object singletonObject) {
+        synchronized (singletonFactories) {
+            if (!singletonObjects.containsKey(beanName)) {
+                earlySingletonObjects.put(beanName, singletonObject);
+                singletonFactories.remove(beanName);
+            }
+        }
+    }
+
+    public void destroySingletons() {
+        List<String> beanNames;
+        synchronized (disposableBeans) {
+            beanNames = new ArrayList<>(disposableBeans.keySet());
+        }
+        // 按注册的逆序销毁，后创建的 bean 先销毁
+        Collections.reverse(beanNames);
+        for (String beanName : beanNames) {
+            DisposableBean disposableBean;
+            synchronized (disposableBeans) {
+                disposableBean = disposableBeans.remove(beanName);
+            }
+            if (disposableBean == null) {
+                continue;
+            }
             try {
                 disposableBean.destroy();
-            } catch (Exception e){
+            } catch (Exception e) {
                 throw new BeansException("Destroy method on bean with name '" + beanName + "' threw an exception", e);
             }
         }
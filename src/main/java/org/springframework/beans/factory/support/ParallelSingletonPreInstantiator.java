@@ -0,0 +1,267 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 按依赖图并行预实例化单例 bean。
+ * <p>
+ * 流程：
+ * 1. 根据 {@link DefaultListableBeanFactory#getDependenciesForBean(String)} 构建 bean 之间的依赖图
+ * 2. 使用 Tarjan 算法求强连通分量，一个循环依赖中的所有 bean 合并为一个节点，交由同一个线程创建，
+ *    从而继续使用单线程下的三级缓存解决循环依赖；深度优先遍历使用显式的栈，很长的依赖链也不会栈溢出
+ * 3. 合并后的依赖图是有向无环图，每个节点在其依赖全部创建完成后提交到线程池执行，互不依赖的子树并发创建
+ * 4. 记录每个节点的创建耗时，计算出耗时最长的依赖链（关键路径）
+ * <p>
+ * 依赖图只是调度的依据，bean 在 init-method 等处通过 getBean 产生的隐式依赖仍由
+ * {@link DefaultSingletonBeanRegistry} 的并发创建机制保证正确性。
+ *
+ * @author zhenghong
+ * @date 2025/6/23
+ */
+class ParallelSingletonPreInstantiator {
+
+    private final DefaultListableBeanFactory beanFactory;
+
+    private final Executor executor;
+
+    private String[] beanNames;
+
+    private int[][] dependencies;
+
+    // Tarjan 算法的状态
+    private int[] tarjanIndex;
+
+    private int[] lowLink;
+
+    private boolean[] onStack;
+
+    private final Deque<Integer> stack = new ArrayDeque<>();
+
+    // 深度优先遍历的调用栈：正在访问的 bean，以及它下一条待访问的依赖边
+    private int[] callStack;
+
+    private int[] nextEdge;
+
+    private int indexCounter;
+
+    // 每个 bean 所属的强连通分量，以及各分量包含的 bean；被依赖的分量编号总是更小
+    private int[] componentOf;
+
+    private final List<int[]> components = new ArrayList<>();
+
+    ParallelSingletonPreInstantiator(DefaultListableBeanFactory beanFactory, Executor executor) {
+        this.beanFactory = beanFactory;
+        this.executor = executor;
+    }
+
+    PreInstantiationReport preInstantiate(String[] beanNames) throws BeansException {
+        long start = System.nanoTime();
+        buildDependencyGraph(beanNames);
+        findStronglyConnectedComponents();
+
+        int componentCount = components.size();
+        int[][] componentDependencies = buildComponentDependencies();
+        long[] durations = new long[componentCount];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[componentCount];
+        for (int component = 0; component < componentCount; component++) {
+            int current = component;
+            Runnable task = () -> durations[current] = instantiateComponent(components.get(current));
+            int[] dependsOn = componentDependencies[component];
+            if (dependsOn.length == 0) {
+                futures[component] = CompletableFuture.runAsync(task, executor);
+            } else {
+                CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependsOn.length];
+                for (int i = 0; i < dependsOn.length; i++) {
+                    dependencyFutures[i] = futures[dependsOn[i]];
+                }
+                futures[component] = CompletableFuture.allOf(dependencyFutures).thenRunAsync(task, executor);
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof BeansException) {
+                throw (BeansException) cause;
+            }
+            throw new BeansException("Parallel pre-instantiation of singletons failed", cause);
+        }
+
+        return buildReport(componentDependencies, durations, System.nanoTime() - start);
+    }
+
+    private void buildDependencyGraph(String[] beanNames) {
+        this.beanNames = beanNames;
+        Map<String, Integer> indexes = new HashMap<>(beanNames.length * 2);
+        for (int i = 0; i < beanNames.length; i++) {
+            indexes.put(beanNames[i], i);
+        }
+        dependencies = new int[beanNames.length][];
+        for (int i = 0; i < beanNames.length; i++) {
+            String[] dependencyNames = beanFactory.getDependenciesForBean(beanNames[i]);
+            int[] edges = new int[dependencyNames.length];
+            int count = 0;
+            for (String dependencyName : dependencyNames) {
+                // 忽略没有 BeanDefinition 的依赖，例如手动注册的单例
+                Integer dependency = indexes.get(dependencyName);
+                if (dependency != null) {
+                    edges[count++] = dependency;
+                }
+            }
+            dependencies[i] = Arrays.copyOf(edges, count);
+        }
+    }
+
+    private void findStronglyConnectedComponents() {
+        int n = beanNames.length;
+        tarjanIndex = new int[n];
+        Arrays.fill(tarjanIndex, -1);
+        lowLink = new int[n];
+        onStack = new boolean[n];
+        componentOf = new int[n];
+        callStack = new int[n];
+        nextEdge = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (tarjanIndex[i] == -1) {
+                strongConnect(i);
+            }
+        }
+    }
+
+    /**
+     * 从 root 开始做 Tarjan 的深度优先遍历，用 callStack 模拟递归：
+     * 访问一个未访问的依赖相当于递归调用，依赖边遍历完相当于返回，返回时用子节点的 lowLink 更新父节点
+     */
+    private void strongConnect(int root) {
+        int depth = 0;
+        visit(root);
+        callStack[0] = root;
+        while (depth >= 0) {
+            int v = callStack[depth];
+            int[] edges = dependencies[v];
+            if (nextEdge[v] < edges.length) {
+                int w = edges[nextEdge[v]++];
+                if (tarjanIndex[w] == -1) {
+                    visit(w);
+                    callStack[++depth] = w;
+                } else if (onStack[w]) {
+                    lowLink[v] = Math.min(lowLink[v], tarjanIndex[w]);
+                }
+                continue;
+            }
+
+            if (lowLink[v] == tarjanIndex[v]) {
+                List<Integer> members = new ArrayList<>();
+                int w;
+                do {
+                    w = stack.pop();
+                    onStack[w] = false;
+                    componentOf[w] = components.size();
+                    members.add(w);
+                } while (w != v);
+                components.add(members.stream().mapToInt(Integer::intValue).toArray());
+            }
+            depth--;
+            if (depth >= 0) {
+                int parent = callStack[depth];
+                lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+            }
+        }
+    }
+
+    private void visit(int v) {
+        tarjanIndex[v] = indexCounter;
+        lowLink[v] = indexCounter;
+        indexCounter++;
+        stack.push(v);
+        onStack[v] = true;
+    }
+
+    private int[][] buildComponentDependencies() {
+        int[][] componentDependencies = new int[components.size()][];
+        for (int component = 0; component < components.size(); component++) {
+            Set<Integer> dependsOn = new LinkedHashSet<>();
+            for (int member : components.get(component)) {
+                for (int dependency : dependencies[member]) {
+                    if (componentOf[dependency] != component) {
+                        dependsOn.add(componentOf[dependency]);
+                    }
+                }
+            }
+            componentDependencies[component] = dependsOn.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return componentDependencies;
+    }
+
+    /**
+     * 在当前线程中创建一个强连通分量中的所有单例
+     *
+     * @return 创建耗时（纳秒）
+     */
+    private long instantiateComponent(int[] members) {
+        long start = System.nanoTime();
+        for (int member : members) {
+            String beanName = beanNames[member];
+            if (beanFactory.getBeanDefinition(beanName).isSingleton()) {
+                beanFactory.getBean(beanName);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private PreInstantiationReport buildReport(int[][] componentDependencies, long[] durations, long elapsedNanos) {
+        int componentCount = components.size();
+        long[] finish = new long[componentCount];
+        int[] previous = new int[componentCount];
+        int last = -1;
+        for (int component = 0; component < componentCount; component++) {
+            previous[component] = -1;
+            long longestDependency = 0;
+            for (int dependency : componentDependencies[component]) {
+                if (finish[dependency] > longestDependency) {
+                    longestDependency = finish[dependency];
+                    previous[component] = dependency;
+                }
+            }
+            finish[component] = longestDependency + durations[component];
+            if (last == -1 || finish[component] > finish[last]) {
+                last = component;
+            }
+        }
+
+        List<String> criticalPath = new ArrayList<>();
+        for (int component = last; component != -1; component = previous[component]) {
+            int[] members = components.get(component);
+            for (int i = members.length - 1; i >= 0; i--) {
+                criticalPath.add(beanNames[members[i]]);
+            }
+        }
+        Collections.reverse(criticalPath);
+
+        int singletonCount = 0;
+        for (String beanName : beanNames) {
+            if (beanFactory.getBeanDefinition(beanName).isSingleton()) {
+                singletonCount++;
+            }
+        }
+        return new PreInstantiationReport(singletonCount, elapsedNanos, criticalPath, last == -1 ? 0 : finish[last]);
+    }
+}
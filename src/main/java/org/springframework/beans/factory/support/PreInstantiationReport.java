@@ -0,0 +1,56 @@
+package org.springframework.beans.factory.support;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 并行预实例化单例的结果报告。
+ * <p>
+ * 关键路径（critical path）是依赖图中耗时最长的一条依赖链：即使线程池足够大，
+ * 容器启动时间也不会短于这条链上所有 bean 的创建时间之和，因此它指出了优化启动速度时最值得关注的 bean。
+ *
+ * @author zhenghong
+ * @date 2025/6/23
+ */
+public class PreInstantiationReport {
+
+    private final int singletonCount;
+
+    private final long elapsedNanos;
+
+    private final List<String> criticalPath;
+
+    private final long criticalPathNanos;
+
+    public PreInstantiationReport(int singletonCount, long elapsedNanos, List<String> criticalPath, long criticalPathNanos) {
+        this.singletonCount = singletonCount;
+        this.elapsedNanos = elapsedNanos;
+        this.criticalPath = Collections.unmodifiableList(criticalPath);
+        this.criticalPathNanos = criticalPathNanos;
+    }
+
+    public int getSingletonCount() {
+        return singletonCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return 关键路径上的 bean 名称，按创建顺序排列（被依赖的 bean 在前）
+     */
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public long getCriticalPathNanos() {
+        return criticalPathNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Pre-instantiated " + singletonCount + " singletons in " + elapsedNanos / 1_000_000 + " ms, " +
+                "critical path (" + criticalPathNanos / 1_000_000 + " ms): " + String.join(" -> ", criticalPath);
+    }
+}
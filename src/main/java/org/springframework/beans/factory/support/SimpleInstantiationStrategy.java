@@ -3,14 +3,89 @@ package org.springframework.beans.factory.support;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 使用无参构造器实例化 bean。
+ * <p>
+ * 每个类只查找一次构造器，并通过 LambdaMetafactory 生成等价于 {@code Foo::new} 的 Supplier 缓存起来，
+ * 之后的实例化与直接 new 对象几乎没有差别，不再经过反射调用。
+ * 无法生成 Supplier 时（例如类所在的模块没有开放）退回到缓存的 Constructor 反射调用。
+ *
+ * @author zhenghong
+ * @date 2025/5/31
+ */
 public class SimpleInstantiationStrategy implements InstantiationStrategy {
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+
+    private static final MethodType SUPPLIER_GET_TYPE = MethodType.methodType(Object.class);
+
+    // bean 类型 -> 调用其无参构造器的 Supplier
+    private final Map<Class<?>, Supplier<?>> instanceSuppliers = new ConcurrentHashMap<>(256);
+
     @Override
     public Object instantiate(BeanDefinition beanDefinition) throws BeansException {
         Class<?> beanClass = beanDefinition.getBeanClass();
         try {
-            return beanClass.getDeclaredConstructor().newInstance();
+            return instanceSuppliers.computeIfAbsent(beanClass, SimpleInstantiationStrategy::createInstanceSupplier).get();
         } catch (Exception e) {
             throw new BeansException("Failed to instantiate bean of type " + beanClass.getName(), e);
         }
     }
+
+    private static Supplier<?> createInstanceSupplier(Class<?> beanClass) {
+        if (Modifier.isAbstract(beanClass.getModifiers())) {
+            throw new BeansException("Cannot instantiate abstract class or interface " + beanClass.getName());
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = beanClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new BeansException("No default constructor found on " + beanClass.getName(), e);
+        }
+
+        MethodHandle supplierFactory;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+            MethodHandle constructorHandle = lookup.unreflectConstructor(constructor);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", SUPPLIER_FACTORY_TYPE,
+                    SUPPLIER_GET_TYPE, constructorHandle, MethodType.methodType(beanClass));
+            supplierFactory = callSite.getTarget();
+        } catch (ReflectiveOperationException | LambdaConversionException | RuntimeException ex) {
+            // 退回到反射调用
+            constructor.setAccessible(true);
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new BeansException("Failed to instantiate bean of type " + beanClass.getName(), e);
+                }
+            };
+        }
+        return createSupplier(supplierFactory, beanClass);
+    }
+
+    /**
+     * 调用 LambdaMetafactory 生成的工厂得到 Supplier，工厂不捕获参数，只可能抛出 Error
+     */
+    private static Supplier<?> createSupplier(MethodHandle supplierFactory, Class<?> beanClass) {
+        try {
+            return (Supplier<?>) supplierFactory.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeansException("Failed to create instance supplier for " + beanClass.getName(), e);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package org.springframework.context;
 
+import java.util.Collection;
+
 /**
  * ApplicationEventPublisher 是 Spring 框架中的事件发布接口。
  * <p>
@@ -39,4 +41,18 @@ public interface ApplicationEventPublisher {
      */
     void publishEvent(ApplicationEvent event);
 
+    /**
+     * 按顺序发布一批事件。
+     * <p>
+     * 默认逐个调用 {@link #publishEvent(ApplicationEvent)}，实现类可以批量匹配监听器，
+     * 同一类型的事件只匹配一次。
+     *
+     * @param events 要发布的事件，不能包含 null
+     */
+    default void publishEvents(Collection<? extends ApplicationEvent> events) {
+        for (ApplicationEvent event : events) {
+            publishEvent(event);
+        }
+    }
+
 }
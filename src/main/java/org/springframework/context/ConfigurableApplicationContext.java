@@ -60,4 +60,11 @@ public interface ConfigurableApplicationContext extends ApplicationContext {
      */
     void registerShutdownHook();
 
+    /**
+     * 注册一个事件监听器。在事件广播器初始化之前注册的监听器会在初始化后统一添加
+     *
+     * @param listener 要注册的事件监听器
+     */
+    void addApplicationListener(ApplicationListener<?> listener);
+
 }
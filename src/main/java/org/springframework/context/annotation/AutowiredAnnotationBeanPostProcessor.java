@@ -1,23 +1,21 @@
 package org.springframework.context.annotation;
 
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.util.ClassUtil;
-import cn.hutool.core.util.TypeUtil;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.ConfigurableListableBeanFactory;
-import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
-import org.springframework.core.convert.ConversionService;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
+public class AutowiredAnnotationBeanPostProcessor implements SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware {
 
     ConfigurableListableBeanFactory beanFactory;
 
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(64);
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
@@ -29,49 +27,21 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
     }
 
     @Override
-    public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
-        //处理 @Value 注解
-        Class<?> clazz = bean.getClass();
-        Field[] declaredFields = clazz.getDeclaredFields();
-        for (Field field : declaredFields) {
-            Value valueAnnotation = field.getAnnotation(Value.class);
-            if (valueAnnotation != null) {
-                Object value = valueAnnotation.value();
-                value = beanFactory.resolveEmbeddedValue((String) value);
-
-                // 类型转换
-                Class<?> sourceType = value.getClass();
-                Class<?> targetType = (Class<?>) TypeUtil.getType(field);
-                ConversionService conversionService = beanFactory.getConversionService();
-                if (conversionService != null) {
-                    if (conversionService.canConvert(sourceType, targetType)) {
-                        conversionService.convert(value, targetType);
-                    }
-                }
-
-                BeanUtil.setFieldValue(bean, field.getName(), value);
-            }
-        }
+    public String[] determineDependencies(Class<?> beanClass, String beanName) throws BeansException {
+        return findInjectionMetadata(beanClass).determineDependencies(beanFactory);
+    }
 
-        // 处理 @Autowired 注解
-        for (Field field : declaredFields) {
-            Autowired autowiredAnnotation = field.getAnnotation(Autowired.class);
-            if (autowiredAnnotation != null) {
-                Class<?> type = field.getType();
-                Object dependentBean;
-                Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
-                if (qualifierAnnotation != null) {
-                    String dependentBeanName = qualifierAnnotation.value();
-                    dependentBean = beanFactory.getBean(dependentBeanName, type);
-                } else {
-                    dependentBean = beanFactory.getBean(type);
-                }
-                BeanUtil.setFieldValue(bean, field.getName(), dependentBean);
-            }
-        }
+    @Override
+    public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
+        // 处理 @Value 和 @Autowired 注解，注入点按类缓存
+        findInjectionMetadata(bean.getClass()).inject(bean, beanFactory);
         return pvs;
     }
 
+    private InjectionMetadata findInjectionMetadata(Class<?> clazz) {
+        return injectionMetadataCache.computeIfAbsent(clazz, InjectionMetadata::forClass);
+    }
+
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
         return null;
@@ -0,0 +1,174 @@
+package org.springframework.context.annotation;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.core.convert.ConversionService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 一个类中需要注入的 @Value、@Autowired 字段的元数据。
+ * <p>
+ * 每个类只解析一次（包括父类中声明的字段），解析时就为每个字段生成 MethodHandle setter，
+ * 之后创建该类的 bean 时只需遍历注入点数组，不再重复扫描注解和反射查找字段。
+ *
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+class InjectionMetadata {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> targetClass;
+
+    private final InjectedElement[] injectedElements;
+
+    private InjectionMetadata(Class<?> targetClass, InjectedElement[] injectedElements) {
+        this.targetClass = targetClass;
+        this.injectedElements = injectedElements;
+    }
+
+    /**
+     * 解析类及其父类的注入点，父类字段在前；所有 @Value 字段先于 @Autowired 字段注入
+     */
+    static InjectionMetadata forClass(Class<?> clazz) throws BeansException {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+
+        List<InjectedElement> valueElements = new ArrayList<>();
+        List<InjectedElement> autowiredElements = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Value valueAnnotation = field.getAnnotation(Value.class);
+                if (valueAnnotation != null) {
+                    valueElements.add(new ValueElement(field, valueAnnotation.value()));
+                }
+                if (field.getAnnotation(Autowired.class) != null) {
+                    Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
+                    autowiredElements.add(new AutowiredElement(field, qualifierAnnotation != null ? qualifierAnnotation.value() : null));
+                }
+            }
+        }
+        valueElements.addAll(autowiredElements);
+        return new InjectionMetadata(clazz, valueElements.toArray(new InjectedElement[0]));
+    }
+
+    void inject(Object bean, ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (InjectedElement element : injectedElements) {
+            element.inject(bean, beanFactory);
+        }
+    }
+
+    /**
+     * @return @Autowired 字段依赖的 bean 名称
+     */
+    String[] determineDependencies(ConfigurableListableBeanFactory beanFactory) {
+        List<String> dependencies = new ArrayList<>();
+        for (InjectedElement element : injectedElements) {
+            if (element instanceof AutowiredElement) {
+                AutowiredElement autowiredElement = (AutowiredElement) element;
+                if (autowiredElement.qualifier != null) {
+                    dependencies.add(autowiredElement.qualifier);
+                } else {
+                    Collections.addAll(dependencies, beanFactory.getBeanNamesForType(autowiredElement.field.getType()));
+                }
+            }
+        }
+        return dependencies.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return "InjectionMetadata for " + targetClass.getName() + " with " + injectedElements.length + " injected elements";
+    }
+
+    abstract static class InjectedElement {
+
+        protected final Field field;
+
+        private final MethodHandle setter;
+
+        InjectedElement(Field field) throws BeansException {
+            this.field = field;
+            try {
+                field.setAccessible(true);
+                this.setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (Exception e) {
+                throw new BeansException("Could not create setter for field [" + field + "]", e);
+            }
+        }
+
+        abstract void inject(Object bean, ConfigurableListableBeanFactory beanFactory) throws BeansException;
+
+        protected void setValue(Object bean, Object value) throws BeansException {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new BeansException("Could not inject field [" + field + "]", e);
+            }
+        }
+    }
+
+    static class ValueElement extends InjectedElement {
+
+        private final String value;
+
+        ValueElement(Field field, String value) throws BeansException {
+            super(field);
+            this.value = value;
+        }
+
+        @Override
+        void inject(Object bean, ConfigurableListableBeanFactory beanFactory) throws BeansException {
+            Object resolvedValue = beanFactory.resolveEmbeddedValue(value);
+
+            // 类型转换，转换服务不支持时退回到 hutool 的默认转换
+            Class<?> targetType = field.getType();
+            ConversionService conversionService = beanFactory.getConversionService();
+            if (conversionService != null && conversionService.canConvert(resolvedValue.getClass(), targetType)) {
+                resolvedValue = conversionService.convert(resolvedValue, targetType);
+            } else if (!BasicType.wrap(targetType).isInstance(resolvedValue)) {
+                resolvedValue = Convert.convert(targetType, resolvedValue);
+            }
+            setValue(bean, resolvedValue);
+        }
+    }
+
+    static class AutowiredElement extends InjectedElement {
+
+        private final String qualifier;
+
+        AutowiredElement(Field field, String qualifier) throws BeansException {
+            super(field);
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        void inject(Object bean, ConfigurableListableBeanFactory beanFactory) throws BeansException {
+            Class<?> type = field.getType();
+            Object dependentBean;
+            if (qualifier != null) {
+                dependentBean = beanFactory.getBean(qualifier, type);
+            } else {
+                dependentBean = beanFactory.getBean(type);
+            }
+            setValue(bean, dependentBean);
+        }
+    }
+}
@@ -3,16 +3,37 @@ package org.springframework.context.event;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 
-import java.util.HashSet;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 抽象的事件广播器基类，实现了 {@link ApplicationEventMulticaster} 和 {@link BeanFactoryAware} 接口，
  * 提供了监听器管理的基础功能和对 Spring {@link BeanFactory} 的感知能力。
  *
- * <p>该类维护了一个线程不安全的监听器集合，用于存储所有注册的 {@link ApplicationListener}。
+ * <p>该类维护了所有注册的 {@link ApplicationListener}，并按事件类型缓存匹配的监听器数组：
+ * 每种事件类型只在第一次发布时解析一次，之后获取监听器只需一次 map 查找。
+ * 注册监听器时缓存失效；移除监听器时只有包含被移除监听器的缓存项需要过滤，其他缓存项原样保留。
+ * 监听器保存在不可变的快照中（写时复制），运行期间注册、移除监听器与发布事件可以并发进行。
+ * 生命周期较短的监听器可以通过 {@link #addWeakApplicationListener} 以弱引用方式注册，被回收后自动移除。
  * 子类需要实现具体的事件广播逻辑，例如遍历监听器并调用其事件处理方法。
  *
  * <p>实现了 {@link BeanFactoryAware} 接口，允许注入 Spring 容器中的 {@link BeanFactory}，
@@ -29,29 +50,325 @@ import java.util.Set;
  */
 public abstract class AbstractApplicationEventMulticaster implements ApplicationEventMulticaster, BeanFactoryAware {
 
+    private static final ApplicationListener<?>[] NO_LISTENERS = new ApplicationListener<?>[0];
+
     /**
-     * 保存所有注册的事件监听器的集合。
-     * 注意：该集合不是线程安全的，具体实现中可能需要进行同步处理。
+     * 当前注册的监听器快照。发布事件时只读取快照，不加锁；
+     * 注册或移除监听器时复制出新的快照，通过 CAS 整体替换，监听器数组和按事件类型的缓存随快照一起替换
      */
-    protected final Set<ApplicationListener<?>> applicationListeners = new HashSet<>();
+    private final AtomicReference<ListenerRegistry> registry = new AtomicReference<>(new ListenerRegistry(NO_LISTENERS));
 
     /**
      * Spring 容器的 BeanFactory，子类可以通过它访问和管理 Bean。
      */
     private BeanFactory beanFactory;
 
+    // 弱引用注册的监听器被回收后，其弱引用进入该队列
+    private final ReferenceQueue<ApplicationListener<?>> collectedListenerQueue = new ReferenceQueue<>();
+
+    private final AtomicLong collectedListenerCount = new AtomicLong();
+
     @Override
     public void addApplicationListener(ApplicationListener<?> listener) {
-        applicationListeners.add(listener);
+        register(listener, listener);
+    }
+
+    /**
+     * 以弱引用方式注册监听器，监听器不会因为注册在广播器中而无法被回收，适用于会话级、prototype 等生命周期较短的监听器。
+     * <p>
+     * 监听器被回收后，其弱引用进入引用队列；之后获取监听器时取出队列中所有已回收的注册，
+     * 遍历一次监听器数组、复制一次快照将它们一起移除，队列为空时没有额外开销。
+     * 被回收的监听器数量可以通过 {@link #getCollectedListenerCount()} 查询。
+     *
+     * @param listener 要注册的事件监听器
+     */
+    public void addWeakApplicationListener(ApplicationListener<?> listener) {
+        register(listener, new WeakListener(listener, collectedListenerQueue));
+    }
+
+    private void register(ApplicationListener<?> listener, ApplicationListener<?> entry) {
+        ListenerRegistry current;
+        ListenerRegistry updated;
+        do {
+            current = registry.get();
+            if (current.indexOf(listener) >= 0) {
+                return;
+            }
+            ApplicationListener<?>[] listeners = Arrays.copyOf(current.listeners, current.listeners.length + 1);
+            listeners[listeners.length - 1] = entry;
+            updated = new ListenerRegistry(listeners);
+        } while (!registry.compareAndSet(current, updated));
     }
 
     @Override
     public void removeApplicationListener(ApplicationListener<?> listener) {
-        applicationListeners.remove(listener);
+        ListenerRegistry current;
+        ListenerRegistry updated;
+        do {
+            current = registry.get();
+            int index = current.indexOf(listener);
+            if (index < 0) {
+                return;
+            }
+            updated = current.without(Collections.singleton(current.listeners[index]));
+        } while (!registry.compareAndSet(current, updated));
+    }
+
+    /**
+     * 取出引用队列中所有已被回收的弱引用注册，一次性移除
+     */
+    private void purgeCollectedListeners() {
+        Reference<?> reference = collectedListenerQueue.poll();
+        if (reference == null) {
+            return;
+        }
+        Set<Object> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (; reference != null; reference = collectedListenerQueue.poll()) {
+            collected.add(reference);
+        }
+        ListenerRegistry current;
+        ListenerRegistry updated;
+        do {
+            current = registry.get();
+            updated = current.without(collected);
+        } while (updated != current && !registry.compareAndSet(current, updated));
+        // 被 removeApplicationListener 提前移除的注册不会出现在快照中，不计入回收数量
+        for (ApplicationListener<?> listener : current.listeners) {
+            if (collected.contains(listener)) {
+                collectedListenerCount.incrementAndGet();
+                onListenerCollected(listener);
+            }
+        }
+    }
+
+    /**
+     * 一个弱引用注册的监听器被回收并移除后调用
+     *
+     * @param registration 被移除的注册，即发布事件时实际调用的监听器对象
+     */
+    protected void onListenerCollected(ApplicationListener<?> registration) {
+    }
+
+    /**
+     * @return 以弱引用方式注册、已被回收并移除的监听器数量
+     */
+    public long getCollectedListenerCount() {
+        return collectedListenerCount.get();
+    }
+
+    /**
+     * @return 当前注册的所有监听器，按注册顺序排列
+     */
+    protected ApplicationListener<?>[] getAllApplicationListeners() {
+        return registry.get().listeners.clone();
+    }
+
+    /**
+     * 获取支持该事件的监听器，结果按事件类型缓存
+     *
+     * @param event 当前发布的事件
+     * @return 支持该事件的监听器，按注册顺序排列
+     */
+    protected ApplicationListener<?>[] getApplicationListeners(ApplicationEvent event) {
+        purgeCollectedListeners();
+        ListenerRegistry snapshot = registry.get();
+        Class<?> eventType = event.getClass();
+        ApplicationListener<?>[] listeners = snapshot.retrieverCache.get(eventType);
+        if (listeners == null) {
+            // 基于同一个快照计算并写入该快照自己的缓存，并发的注册操作不会让缓存包含过期的结果
+            List<ApplicationListener<?>> supported = new ArrayList<>();
+            for (ApplicationListener<?> listener : snapshot.listeners) {
+                if (supportsEvent(listener, event)) {
+                    supported.add(listener);
+                }
+            }
+            listeners = supported.isEmpty() ? NO_LISTENERS : supported.toArray(NO_LISTENERS);
+            snapshot.retrieverCache.putIfAbsent(eventType, listeners);
+        }
+        return listeners;
+    }
+
+    /**
+     * 判断给定监听器是否支持处理该事件类型。
+     *
+     * @param applicationListener 当前要判断的监听器
+     * @param event               当前触发的事件
+     * @return 如果该监听器的泛型参数与事件类型兼容，返回 true；否则返回 false
+     */
+    protected boolean supportsEvent(ApplicationListener<?> applicationListener, ApplicationEvent event) {
+        if (applicationListener instanceof SmartApplicationListener smartListener) {
+            return smartListener.supportsEventType(event.getClass());
+        }
+        return resolveDeclaredEventType(applicationListener.getClass()).isAssignableFrom(event.getClass());
+    }
+
+    /**
+     * 解析监听器声明的事件类型，即 ApplicationListener 的泛型参数。
+     * 支持直接实现接口、通过（泛型）父类或父接口间接实现的监听器，以及 CGLIB 生成的子类；
+     * 无法解析时（如 JDK 动态代理、lambda）视为监听所有事件
+     */
+    static Class<?> resolveDeclaredEventType(Class<?> listenerClass) {
+        Class<?> eventType = findEventType(listenerClass, new HashMap<>());
+        return eventType != null ? eventType : ApplicationEvent.class;
+    }
+
+    private static Class<?> findEventType(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> rawType;
+        Map<TypeVariable<?>, Type> currentBindings = bindings;
+        if (type instanceof ParameterizedType parameterizedType) {
+            rawType = (Class<?>) parameterizedType.getRawType();
+            TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            currentBindings = new HashMap<>();
+            for (int i = 0; i < typeParameters.length; i++) {
+                Type typeArgument = typeArguments[i];
+                currentBindings.put(typeParameters[i], typeArgument instanceof TypeVariable ? bindings.getOrDefault(typeArgument, typeArgument) : typeArgument);
+            }
+            if (rawType == ApplicationListener.class) {
+                return toClass(currentBindings.get(typeParameters[0]));
+            }
+        } else if (type instanceof Class<?> clazz) {
+            rawType = clazz;
+            if (rawType == ApplicationListener.class) {
+                // 原始类型的 ApplicationListener
+                return ApplicationEvent.class;
+            }
+        } else {
+            return null;
+        }
+
+        for (Type genericInterface : rawType.getGenericInterfaces()) {
+            Class<?> eventType = findEventType(genericInterface, currentBindings);
+            if (eventType != null) {
+                return eventType;
+            }
+        }
+        Type genericSuperclass = rawType.getGenericSuperclass();
+        return genericSuperclass != null ? findEventType(genericSuperclass, currentBindings) : null;
+    }
+
+    private static Class<?> toClass(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        }
+        if (type instanceof TypeVariable<?> typeVariable) {
+            return toClass(typeVariable.getBounds()[0]);
+        }
+        if (type instanceof WildcardType wildcardType) {
+            return toClass(wildcardType.getUpperBounds()[0]);
+        }
+        return ApplicationEvent.class;
     }
 
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = beanFactory;
     }
+
+    /**
+     * 不可变的监听器快照，以及基于该快照按事件类型缓存的匹配结果
+     */
+    private static final class ListenerRegistry {
+
+        private final ApplicationListener<?>[] listeners;
+
+        // 事件类型 -> 支持该事件的监听器
+        private final Map<Class<?>, ApplicationListener<?>[]> retrieverCache = new ConcurrentHashMap<>(64);
+
+        ListenerRegistry(ApplicationListener<?>[] listeners) {
+            this.listeners = listeners;
+        }
+
+        int indexOf(ApplicationListener<?> listener) {
+            for (int i = 0; i < listeners.length; i++) {
+                ApplicationListener<?> entry = listeners[i];
+                if (entry instanceof WeakListener weakListener ? weakListener.get() == listener : entry.equals(listener)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 遍历一次监听器数组，复制出移除给定注册后的快照。缓存中不包含这些注册的项原样保留，包含的项过滤后保留
+         *
+         * @return 新的快照，没有需要移除的注册时返回当前快照
+         */
+        ListenerRegistry without(Set<?> removed) {
+            ApplicationListener<?>[] remaining = filter(listeners, removed);
+            if (remaining == listeners) {
+                return this;
+            }
+            ListenerRegistry updated = new ListenerRegistry(remaining);
+            retrieverCache.forEach((eventType, cached) -> updated.retrieverCache.put(eventType, filter(cached, removed)));
+            return updated;
+        }
+
+        /**
+         * @return 移除给定注册后的数组，不包含这些注册时返回原数组
+         */
+        private static ApplicationListener<?>[] filter(ApplicationListener<?>[] source, Set<?> removed) {
+            int count = 0;
+            for (ApplicationListener<?> listener : source) {
+                if (removed.contains(listener)) {
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return source;
+            }
+            if (count == source.length) {
+                return NO_LISTENERS;
+            }
+            ApplicationListener<?>[] result = new ApplicationListener<?>[source.length - count];
+            int i = 0;
+            for (ApplicationListener<?> listener : source) {
+                if (!removed.contains(listener)) {
+                    result[i++] = listener;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 以弱引用持有监听器的注册，事件类型在注册时解析；监听器被回收后不再处理任何事件。
+     * 同步或异步的选择转发给被引用的监听器，未实现 {@link AsyncCapableApplicationListener} 的监听器跟随广播器的默认方式
+     */
+    private static final class WeakListener extends WeakReference<ApplicationListener<?>>
+            implements SmartApplicationListener, AsyncCapableApplicationListener<ApplicationEvent> {
+
+        private final Class<?> declaredEventType;
+
+        WeakListener(ApplicationListener<?> listener, ReferenceQueue<ApplicationListener<?>> queue) {
+            super(listener, queue);
+            this.declaredEventType = listener instanceof SmartApplicationListener ? null : resolveDeclaredEventType(listener.getClass());
+        }
+
+        @Override
+        public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+            if (declaredEventType != null) {
+                return declaredEventType.isAssignableFrom(eventType);
+            }
+            ApplicationListener<?> listener = get();
+            return listener != null && ((SmartApplicationListener) listener).supportsEventType(eventType);
+        }
+
+        @Override
+        public boolean isAsync() {
+            return !(get() instanceof AsyncCapableApplicationListener<?> listener) || listener.isAsync();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onApplicationEvent(ApplicationEvent event) {
+            ApplicationListener<ApplicationEvent> listener = (ApplicationListener<ApplicationEvent>) get();
+            if (listener != null) {
+                listener.onApplicationEvent(event);
+            }
+        }
+    }
 }
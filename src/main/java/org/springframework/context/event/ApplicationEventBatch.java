@@ -0,0 +1,50 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一个时间窗口内 key 相同的一批事件，由 {@link CoalescingApplicationEventPublisher} 在批量投递模式下发布。
+ * <p>
+ * 监听器实现 {@code ApplicationListener<ApplicationEventBatch>} 即可一次性处理整批事件，
+ * 例如把多次缓存失效合并为一次批量失效。
+ *
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class ApplicationEventBatch extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object key;
+
+    private final List<ApplicationEvent> events;
+
+    /**
+     * @param source 发布这批事件的发布者
+     * @param key    这批事件共同的 key
+     * @param events 按发布顺序排列的事件
+     */
+    public ApplicationEventBatch(Object source, Object key, List<ApplicationEvent> events) {
+        super(source);
+        this.key = key;
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * @return 按发布顺序排列的事件，不可修改
+     */
+    public List<ApplicationEvent> getEvents() {
+        return events;
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
@@ -3,6 +3,8 @@ package org.springframework.context.event;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 
+import java.util.Collection;
+
 /**
  * {@code ApplicationMulticaster} 是一个事件广播器接口，
  * 定义了向多个 {@link ApplicationListener} 监听器广播 {@link ApplicationEvent} 事件的基本操作。
@@ -41,4 +43,15 @@ public interface ApplicationEventMulticaster {
      * @param event 要广播的事件对象，不能为空
      */
     void multicastEvent(final ApplicationEvent event);
+
+    /**
+     * 按顺序广播一批事件，默认逐个调用 {@link #multicastEvent(ApplicationEvent)}。
+     *
+     * @param events 要广播的事件，不能包含 null
+     */
+    default void multicastEvents(final Collection<? extends ApplicationEvent> events) {
+        for (ApplicationEvent event : events) {
+            multicastEvent(event);
+        }
+    }
 }
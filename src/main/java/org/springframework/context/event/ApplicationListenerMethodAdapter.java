@@ -0,0 +1,133 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 将 {@link EventListener} 方法适配为 {@link SmartApplicationListener}，
+ * 通过预先生成的 MethodHandle 调用目标方法。
+ * <p>
+ * 调用的对象在第一次收到事件时通过 {@link BeanFactory#getBean(String)} 取得，bean 被代理时调用代理对象：
+ * 1. CGLIB 代理是 bean 类型的子类，直接在代理对象上调用监听方法
+ * 2. JDK 代理改为调用代理接口中同名同参数的方法
+ * 3. private、final 方法以及 JDK 代理接口中没有的方法无法经过代理，在原始 bean 上调用
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class ApplicationListenerMethodAdapter implements SmartApplicationListener {
+
+    private final String beanName;
+
+    private final BeanFactory beanFactory;
+
+    // 原始 bean，只用于无法经过代理调用的方法
+    private final Object rawBean;
+
+    private final Method method;
+
+    private final Class<? extends ApplicationEvent> eventType;
+
+    // (Object, ApplicationEvent)void
+    private final MethodHandle invoker;
+
+    private volatile Target target;
+
+    ApplicationListenerMethodAdapter(String beanName, BeanFactory beanFactory, Object rawBean, Method method,
+                                     Class<? extends ApplicationEvent> eventType, MethodHandle invoker) {
+        this.beanName = beanName;
+        this.beanFactory = beanFactory;
+        this.rawBean = rawBean;
+        this.method = method;
+        this.eventType = eventType;
+        this.invoker = invoker;
+    }
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return this.eventType.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        Target target = resolveTarget();
+        try {
+            target.invoker.invokeExact(target.bean, event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Event listener method " + method + " threw exception", e);
+        }
+    }
+
+    private Target resolveTarget() {
+        Target target = this.target;
+        if (target == null) {
+            target = createTarget(beanFactory.getBean(beanName));
+            this.target = target;
+        }
+        return target;
+    }
+
+    private Target createTarget(Object bean) {
+        int modifiers = method.getModifiers();
+        if (bean == rawBean || Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers)) {
+            return new Target(rawBean, invoker);
+        }
+        if (method.getDeclaringClass().isInstance(bean)) {
+            return new Target(bean, invoker);
+        }
+        // JDK 代理：查找代理接口中声明的同一个方法
+        for (Class<?> proxiedInterface : bean.getClass().getInterfaces()) {
+            Method interfaceMethod;
+            try {
+                interfaceMethod = proxiedInterface.getMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                continue;
+            }
+            try {
+                return new Target(bean, EventListenerMethodProcessor.createInvoker(interfaceMethod));
+            } catch (BeansException e) {
+                break;
+            }
+        }
+        return new Target(rawBean, invoker);
+    }
+
+    /**
+     * @return 调用监听方法的对象，bean 被代理时为代理对象
+     */
+    public Object getBean() {
+        return resolveTarget().bean;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public String toString() {
+        return "@EventListener " + method;
+    }
+
+    private static final class Target {
+
+        private final Object bean;
+
+        private final MethodHandle invoker;
+
+        Target(Object bean, MethodHandle invoker) {
+            this.bean = bean;
+            this.invoker = invoker;
+        }
+    }
+}
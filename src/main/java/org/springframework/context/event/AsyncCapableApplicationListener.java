@@ -0,0 +1,23 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * 可以单独选择同步或异步接收事件的监听器。
+ * <p>
+ * 未实现该接口的监听器跟随广播器的默认方式：{@link SimpleApplicationEventMulticaster} 设置了线程池时异步投递，否则同步投递。
+ * 实现该接口后：
+ * - {@link #isAsync()} 返回 true：只要广播器设置了线程池就异步投递
+ * - {@link #isAsync()} 返回 false：总是在发布事件的线程中同步投递，例如需要和发布方处于同一个事务中的监听器
+ *
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public interface AsyncCapableApplicationListener<E extends ApplicationEvent> extends ApplicationListener<E> {
+
+    /**
+     * @return 是否异步接收事件
+     */
+    boolean isAsync();
+}
@@ -0,0 +1,555 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 在同一台机器上的多个容器之间转发事件的事件广播器装饰器。
+ * <p>
+ * 指定类型的事件在本地广播的同时，通过 {@link EventCodec} 编码后发送给所有对端；从对端收到的事件解码后交给被装饰的广播器，
+ * 与本地发布的事件走相同的分发流程，但不会再次转发，避免在多个容器之间循环。
+ * <p>
+ * 传输层使用 NIO，地址格式为 {@code unix:/path/to/socket}（Unix 域套接字）或 {@code tcp:127.0.0.1:9000}（回环 TCP）：
+ * - 每个对端一个发送线程，一次取出队列中所有待发送的事件合并写出，不等待对端确认，对端不可用时保留事件并定期重连；
+ *   连接在写出一批事件的过程中断开时，重连后重新发送整批事件，对端可能收到重复的事件
+ * - 一个接收线程通过 Selector 处理所有连入的连接，连接上的数据按帧解析，一个帧为长度（4 字节）加编码后的事件；
+ *   长度不大于 0 或超过 {@link #setMaxFrameSize(int)} 的连接会被关闭，不影响其他连接
+ * - 收到的帧交给一个单独的分发线程解码并调用监听器，慢监听器不会阻塞接收，同一对端的事件仍按顺序分发
+ * <p>
+ * 发送队列和分发队列都有容量限制，队列满时丢弃新事件并计入 {@link #getDroppedCount()}。
+ * <p>
+ * 桥接不做身份认证，任何能连接到本地地址的进程都可以发送事件：tcp 地址默认只允许监听回环地址，
+ * 需要监听其他地址时必须显式调用 {@link #setAllowNonLoopbackAddress(boolean)}。
+ * 默认的 {@link SerializationEventCodec} 只反序列化白名单中的类型，收到的事件的事件源为 null。
+ * 收到的事件同样要属于 {@link #setForwardedEventTypes(Class[])} 声明的类型才会分发，否则丢弃并计入 {@link #getRejectedCount()}；
+ * 容器生命周期事件（{@link ApplicationContextEvent} 及其子类）只属于发布它的容器，既不转发也不接收。
+ *
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class BridgingApplicationEventMulticaster implements ApplicationEventMulticaster, InitializingBean, DisposableBean {
+
+    private static final String UNIX_PREFIX = "unix:";
+
+    private static final String TCP_PREFIX = "tcp:";
+
+    private static final long RECONNECT_INTERVAL_MILLIS = 100;
+
+    private ApplicationEventMulticaster delegate;
+
+    private EventCodec codec = new SerializationEventCodec();
+
+    private Class<?>[] forwardedEventTypes = new Class<?>[0];
+
+    private String localAddress;
+
+    private String[] peerAddresses = new String[0];
+
+    private int queueCapacity = 10_000;
+
+    private int maxBatchSize = 512;
+
+    private int maxFrameSize = 16 * 1024 * 1024;
+
+    private boolean allowNonLoopbackAddress;
+
+    // 收到的事件的分发线程，单线程保证同一连接上的事件按顺序分发
+    private ThreadPoolExecutor dispatcher;
+
+    private ServerSocketChannel serverChannel;
+
+    private Selector selector;
+
+    private Thread receiver;
+
+    private final List<PeerConnection> peers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public BridgingApplicationEventMulticaster() {
+    }
+
+    public BridgingApplicationEventMulticaster(ApplicationEventMulticaster delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        start();
+    }
+
+    /**
+     * 监听本地地址，并为每个对端启动发送线程
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        if (localAddress != null) {
+            SocketAddress address = parseAddress(localAddress);
+            if (address instanceof InetSocketAddress inetAddress && !allowNonLoopbackAddress && !isLoopback(inetAddress)) {
+                throw new IllegalStateException("Event bridge only listens on loopback addresses by default, got '"
+                        + localAddress + "'; set allowNonLoopbackAddress to listen on other addresses");
+            }
+        }
+        running = true;
+        if (localAddress != null) {
+            SocketAddress address = parseAddress(localAddress);
+            dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "event-bridge-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (address instanceof UnixDomainSocketAddress unixAddress) {
+                Files.deleteIfExists(unixAddress.getPath());
+                serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            } else {
+                serverChannel = ServerSocketChannel.open();
+            }
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            receiver = new Thread(this::receive, "event-bridge-receiver");
+            receiver.setDaemon(true);
+            receiver.start();
+        }
+        for (String peerAddress : peerAddresses) {
+            PeerConnection peer = new PeerConnection(parseAddress(peerAddress.trim()));
+            peers.add(peer);
+            peer.start();
+        }
+    }
+
+    @Override
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        delegate.addApplicationListener(listener);
+    }
+
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        delegate.removeApplicationListener(listener);
+    }
+
+    @Override
+    public void multicastEvent(ApplicationEvent event) {
+        if (isForwarded(event)) {
+            forward(event);
+        }
+        delegate.multicastEvent(event);
+    }
+
+    @Override
+    public void multicastEvents(Collection<? extends ApplicationEvent> events) {
+        for (ApplicationEvent event : events) {
+            if (isForwarded(event)) {
+                forward(event);
+            }
+        }
+        delegate.multicastEvents(events);
+    }
+
+    private boolean isForwarded(ApplicationEvent event) {
+        if (event instanceof ApplicationContextEvent) {
+            return false;
+        }
+        for (Class<?> forwardedEventType : forwardedEventTypes) {
+            if (forwardedEventType.isInstance(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forward(ApplicationEvent event) {
+        if (peers.isEmpty()) {
+            return;
+        }
+        byte[] data = codec.encode(event);
+        for (PeerConnection peer : peers) {
+            if (!peer.queue.offer(data)) {
+                droppedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void receive() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        SocketChannel channel = serverChannel.accept();
+                        if (channel != null) {
+                            channel.configureBlocking(false);
+                            channel.register(selector, SelectionKey.OP_READ, ByteBuffer.allocate(64 * 1024));
+                        }
+                    } else if (key.isReadable()) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // 关闭时退出
+        }
+    }
+
+    private void read(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer buffer = (ByteBuffer) key.attachment();
+        int read;
+        try {
+            read = channel.read(buffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            key.cancel();
+            closeQuietly(channel);
+            return;
+        }
+        buffer.flip();
+        // 一次读取可能包含多个帧，也可能只有半个帧
+        int length = 0;
+        while (buffer.remaining() >= 4) {
+            length = buffer.getInt(buffer.position());
+            if (length <= 0 || length > maxFrameSize) {
+                // 非法的帧长度，只关闭这个连接
+                key.cancel();
+                closeQuietly(channel);
+                return;
+            }
+            if (buffer.remaining() < 4 + length) {
+                break;
+            }
+            buffer.position(buffer.position() + 4);
+            byte[] data = new byte[length];
+            buffer.get(data);
+            dispatchRemote(data);
+            length = 0;
+        }
+        buffer.compact();
+        // 帧比缓冲区大时扩容到刚好容纳这个帧，帧长度已经受 maxFrameSize 限制
+        if (buffer.capacity() < 4 + length) {
+            ByteBuffer larger = ByteBuffer.allocate(4 + length);
+            buffer.flip();
+            larger.put(buffer);
+            key.attach(larger);
+        }
+    }
+
+    private void dispatchRemote(byte[] data) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    ApplicationEvent event = codec.decode(data);
+                    // 对端发来的事件不一定是本端声明转发的类型
+                    if (!isForwarded(event)) {
+                        rejectedCount.incrementAndGet();
+                        return;
+                    }
+                    receivedCount.incrementAndGet();
+                    delegate.multicastEvent(event);
+                } catch (RuntimeException | Error e) {
+                    // 一个事件处理失败不影响后续事件
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    private static boolean isLoopback(InetSocketAddress address) {
+        InetAddress inetAddress = address.getAddress();
+        return inetAddress != null && inetAddress.isLoopbackAddress();
+    }
+
+    static SocketAddress parseAddress(String address) {
+        if (address.startsWith(UNIX_PREFIX)) {
+            return UnixDomainSocketAddress.of(address.substring(UNIX_PREFIX.length()));
+        }
+        if (address.startsWith(TCP_PREFIX)) {
+            String hostAndPort = address.substring(TCP_PREFIX.length());
+            int colon = hostAndPort.lastIndexOf(':');
+            return new InetSocketAddress(hostAndPort.substring(0, colon), Integer.parseInt(hostAndPort.substring(colon + 1)));
+        }
+        throw new IllegalArgumentException("Unsupported event bridge address '" + address + "', expected unix:<path> or tcp:<host>:<port>");
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * @return 实际监听的地址，监听 tcp 端口 0 时可以通过它获取分配的端口
+     */
+    public SocketAddress getBoundAddress() throws IOException {
+        return serverChannel != null ? serverChannel.getLocalAddress() : null;
+    }
+
+    /**
+     * @return 从对端收到的事件数量
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * @return 从对端收到、但不属于转发类型而被丢弃的事件数量
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return 发送队列已满（每个对端分别计数）或分发队列已满而丢弃的事件数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public ApplicationEventMulticaster getDelegate() {
+        return delegate;
+    }
+
+    public void setDelegate(ApplicationEventMulticaster delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 设置事件编解码器，默认使用 Java 序列化
+     */
+    public void setCodec(EventCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * 设置需要转发给对端的事件类型，包括其子类。从对端收到的事件也只接收这些类型，
+     * {@link ApplicationContextEvent} 及其子类始终不转发也不接收
+     */
+    public void setForwardedEventTypes(Class<?>[] forwardedEventTypes) {
+        this.forwardedEventTypes = forwardedEventTypes;
+    }
+
+    /**
+     * 设置本地监听的地址，为 null 时只发送不接收
+     */
+    public void setLocalAddress(String localAddress) {
+        this.localAddress = localAddress;
+    }
+
+    public void setPeerAddresses(String[] peerAddresses) {
+        this.peerAddresses = peerAddresses;
+    }
+
+    /**
+     * 设置每个对端的发送队列容量，默认 10000
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 设置一次合并写出的最大事件数量，默认 512
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 设置接收的单个帧的最大字节数，默认 16MB，超过时关闭对应的连接
+     */
+    public void setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * 设置是否允许 tcp 本地地址监听回环地址以外的地址，默认 false。
+     * 桥接不做身份认证，开启前需要确保网络上只有可信的进程能连接到该地址
+     */
+    public void setAllowNonLoopbackAddress(boolean allowNonLoopbackAddress) {
+        this.allowNonLoopbackAddress = allowNonLoopbackAddress;
+    }
+
+    /**
+     * 停止接收，发送完队列中剩余的事件后关闭连接
+     */
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (PeerConnection peer : peers) {
+            peer.thread.join(TimeUnit.SECONDS.toMillis(5));
+            closeQuietly(peer.channel);
+        }
+        peers.clear();
+        if (selector != null) {
+            selector.wakeup();
+            receiver.join(TimeUnit.SECONDS.toMillis(5));
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            selector.close();
+        }
+        closeQuietly(serverChannel);
+        if (dispatcher != null) {
+            // 分发完已经收到的事件
+            dispatcher.shutdown();
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+            dispatcher = null;
+        }
+        if (localAddress != null && parseAddress(localAddress) instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+    }
+
+    /**
+     * 到一个对端的连接，以及该连接的发送队列和发送线程
+     */
+    private final class PeerConnection {
+
+        private final SocketAddress address;
+
+        private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        private final Thread thread;
+
+        private SocketChannel channel;
+
+        // 已从队列取出但尚未发送成功的事件
+        private final List<byte[]> pending = new ArrayList<>();
+
+        PeerConnection(SocketAddress address) {
+            this.address = address;
+            this.thread = new Thread(this::send, "event-bridge-sender-" + address);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        private void send() {
+            while (running || !queue.isEmpty() || !pending.isEmpty()) {
+                try {
+                    if (pending.isEmpty()) {
+                        byte[] first = queue.poll(RECONNECT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        pending.add(first);
+                        queue.drainTo(pending, maxBatchSize - 1);
+                    }
+                    if (!ensureConnected()) {
+                        if (!running) {
+                            // 关闭时对端不可用，放弃剩余的事件
+                            return;
+                        }
+                        Thread.sleep(RECONNECT_INTERVAL_MILLIS);
+                        continue;
+                    }
+                    writeBatch();
+                    pending.clear();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    // 连接断开，下次重连后重新发送这一批
+                    closeQuietly(channel);
+                    channel = null;
+                }
+            }
+        }
+
+        private boolean ensureConnected() {
+            if (channel != null) {
+                return true;
+            }
+            try {
+                SocketChannel socketChannel = address instanceof UnixDomainSocketAddress
+                        ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open();
+                try {
+                    socketChannel.connect(address);
+                } catch (IOException e) {
+                    socketChannel.close();
+                    throw e;
+                }
+                channel = socketChannel;
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        /**
+         * 将一批事件合并为一次 gathering write
+         */
+        private void writeBatch() throws IOException {
+            ByteBuffer[] buffers = new ByteBuffer[pending.size() * 2];
+            ByteBuffer headers = ByteBuffer.allocate(pending.size() * 4);
+            for (int i = 0; i < pending.size(); i++) {
+                byte[] data = pending.get(i);
+                headers.putInt(i * 4, data.length);
+                buffers[i * 2] = headers.slice(i * 4, 4);
+                buffers[i * 2 + 1] = ByteBuffer.wrap(data);
+            }
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        }
+    }
+}
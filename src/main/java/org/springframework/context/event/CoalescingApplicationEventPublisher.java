@@ -0,0 +1,196 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.LoggingErrorHandler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * 合并高频事件的发布者，包装另一个 {@link ApplicationEventPublisher}（通常是 ApplicationContext）。
+ * <p>
+ * 通过 keyResolver 为事件指定 key，一个时间窗口内 key 相同的事件会被合并，窗口结束时通过
+ * {@link ApplicationEventPublisher#publishEvents} 一次性发布：
+ * - 默认模式下，同一个 key 的事件通过 mergeFunction 合并为一个事件，默认保留最后一个
+ * - 批量投递模式下，同一个 key 的事件原样打包为一个 {@link ApplicationEventBatch}，由监听器直接处理整批事件
+ * <p>
+ * key 为 null 的事件不参与合并，立即发布。第一个进入空窗口的事件开始计时，窗口结束后统一发布窗口内的所有 key，
+ * 各个 key 按第一次出现的顺序发布。也可以调用 {@link #flush()} 提前发布，此时取消当前窗口的定时发布，
+ * 下一个事件重新开始计时；销毁时会发布剩余的事件。
+ * <p>
+ * 定时发布在调度器的线程中执行，发布失败（例如监听器抛出异常）时交给 {@link #setErrorHandler(ErrorHandler) ErrorHandler}，
+ * 默认记录日志；手动调用 {@link #flush()} 时异常直接抛给调用方。
+ *
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class CoalescingApplicationEventPublisher implements ApplicationEventPublisher, DisposableBean {
+
+    private final ApplicationEventPublisher delegate;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final long windowMillis;
+
+    private Function<ApplicationEvent, Object> keyResolver = event -> event.getClass();
+
+    private BinaryOperator<ApplicationEvent> mergeFunction = (previous, current) -> current;
+
+    private boolean batchDelivery;
+
+    // 当前窗口内的事件，按 key 第一次出现的顺序排列；读写都在 synchronized (this) 中进行
+    private Map<Object, List<ApplicationEvent>> pendingEvents = new LinkedHashMap<>();
+
+    private ErrorHandler errorHandler = LoggingErrorHandler.INSTANCE;
+
+    // 当前窗口的定时发布任务，窗口内没有事件时为 null
+    private ScheduledFuture<?> scheduledFlush;
+
+    // 每开始一个窗口加一，用于识别已被取消但仍在执行的过期定时任务
+    private long windowSequence;
+
+    /**
+     * @param delegate     实际发布事件的发布者
+     * @param scheduler    窗口结束时执行发布的调度器
+     * @param windowMillis 时间窗口长度（毫秒）
+     */
+    public CoalescingApplicationEventPublisher(ApplicationEventPublisher delegate, ScheduledExecutorService scheduler, long windowMillis) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Coalescing window must be positive: " + windowMillis);
+        }
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void publishEvent(ApplicationEvent event) {
+        Object key = keyResolver.apply(event);
+        if (key == null) {
+            delegate.publishEvent(event);
+            return;
+        }
+        synchronized (this) {
+            pendingEvents.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+            if (scheduledFlush == null) {
+                long window = ++windowSequence;
+                scheduledFlush = scheduler.schedule(() -> flushWindow(window), windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 窗口结束时由调度器调用，只发布该窗口的事件，异常交给 ErrorHandler
+     */
+    private void flushWindow(long window) {
+        Map<Object, List<ApplicationEvent>> events;
+        synchronized (this) {
+            // 窗口已被手动发布，或者已经开始了新的窗口
+            if (scheduledFlush == null || window != windowSequence) {
+                return;
+            }
+            events = takePendingEvents();
+        }
+        try {
+            publish(events);
+        } catch (RuntimeException | Error e) {
+            errorHandler.handleError(e);
+        }
+    }
+
+    /**
+     * 立即发布当前窗口内合并后的事件，并取消该窗口的定时发布
+     */
+    public void flush() {
+        Map<Object, List<ApplicationEvent>> events;
+        synchronized (this) {
+            events = takePendingEvents();
+        }
+        publish(events);
+    }
+
+    private Map<Object, List<ApplicationEvent>> takePendingEvents() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Map<Object, List<ApplicationEvent>> events = pendingEvents;
+        pendingEvents = new LinkedHashMap<>();
+        return events;
+    }
+
+    private void publish(Map<Object, List<ApplicationEvent>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<ApplicationEvent> coalesced = new ArrayList<>(events.size());
+        for (Map.Entry<Object, List<ApplicationEvent>> entry : events.entrySet()) {
+            List<ApplicationEvent> sameKeyEvents = entry.getValue();
+            if (batchDelivery) {
+                coalesced.add(new ApplicationEventBatch(this, entry.getKey(), sameKeyEvents));
+            } else {
+                ApplicationEvent merged = sameKeyEvents.get(0);
+                for (int i = 1; i < sameKeyEvents.size(); i++) {
+                    merged = mergeFunction.apply(merged, sameKeyEvents.get(i));
+                }
+                coalesced.add(merged);
+            }
+        }
+        delegate.publishEvents(coalesced);
+    }
+
+    /**
+     * @return 当前窗口内尚未发布的事件数量
+     */
+    public synchronized int getPendingEventCount() {
+        int count = 0;
+        for (List<ApplicationEvent> events : pendingEvents.values()) {
+            count += events.size();
+        }
+        return count;
+    }
+
+    /**
+     * 设置事件 key 的解析方式，默认使用事件类型；返回 null 的事件立即发布
+     */
+    public void setKeyResolver(Function<ApplicationEvent, Object> keyResolver) {
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * 设置同一个 key 的事件的合并方式，参数依次为之前合并的结果和新事件，默认保留最后一个事件
+     */
+    public void setMergeFunction(BinaryOperator<ApplicationEvent> mergeFunction) {
+        this.mergeFunction = mergeFunction;
+    }
+
+    /**
+     * 设置为 true 时不合并事件，而是把同一个 key 的事件打包为 {@link ApplicationEventBatch} 发布
+     */
+    public void setBatchDelivery(boolean batchDelivery) {
+        this.batchDelivery = batchDelivery;
+    }
+
+    /**
+     * 设置定时发布失败时的处理方式，默认记录日志
+     */
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
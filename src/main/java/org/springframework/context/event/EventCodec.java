@@ -0,0 +1,16 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 事件的编解码方式，{@link JournalingApplicationEventMulticaster} 用它把事件写入日志以及重放时还原事件
+ *
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public interface EventCodec {
+
+    byte[] encode(ApplicationEvent event);
+
+    ApplicationEvent decode(byte[] data);
+}
@@ -0,0 +1,287 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件分发的统计信息：每种事件类型的发布和投递次数，每个监听器的调用次数、耗时直方图，以及慢监听器检测。
+ * <p>
+ * 设置到 {@link SimpleApplicationEventMulticaster#setDispatchMetrics(EventDispatchMetrics)} 后开始统计，
+ * 在容器中定义名为 eventDispatchMetrics 的 bean 即可自动启用，通过
+ * {@link org.springframework.context.support.AbstractApplicationContext#getEventDispatchMetrics()} 查询。
+ * 计数使用 {@link LongAdder}，每次调用监听器只增加两次 {@link System#nanoTime()} 和几次无竞争的累加。
+ * <p>
+ * 设置 objectName 后，初始化时注册到平台 MBeanServer，销毁时注销。
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class EventDispatchMetrics implements EventDispatchMetricsMXBean, InitializingBean, DisposableBean {
+
+    /**
+     * 慢监听器的回调，在调用监听器的线程中执行
+     */
+    @FunctionalInterface
+    public interface SlowListenerHandler {
+
+        void onSlowListener(ApplicationListener<?> listener, ApplicationEvent event, long elapsedNanos);
+    }
+
+    // 直方图区间数，第 i 个区间统计耗时在 [2^i, 2^(i+1)) 纳秒之间的调用
+    private static final int BUCKET_COUNT = 64;
+
+    private final Map<Class<?>, LongAdder> publishCounts = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, LongAdder> deliveryCounts = new ConcurrentHashMap<>();
+
+    private final Map<ApplicationListener<?>, ListenerMetrics> listenerMetrics = new ConcurrentHashMap<>();
+
+    private final LongAdder collectedListeners = new LongAdder();
+
+    // 为 0 时不检测慢监听器
+    private volatile long slowListenerThresholdNanos;
+
+    private SlowListenerHandler slowListenerHandler;
+
+    private String objectName;
+
+    private ObjectName registeredObjectName;
+
+    /**
+     * 记录一次事件发布
+     */
+    public void recordPublish(ApplicationEvent event) {
+        counter(publishCounts, event.getClass()).increment();
+    }
+
+    /**
+     * 记录一次监听器调用
+     *
+     * @param elapsedNanos 调用耗时
+     * @param failed       监听器是否抛出了异常
+     */
+    public void recordDelivery(ApplicationListener<?> listener, ApplicationEvent event, long elapsedNanos, boolean failed) {
+        counter(deliveryCounts, event.getClass()).increment();
+        ListenerMetrics metrics = listenerMetrics.get(listener);
+        if (metrics == null) {
+            metrics = listenerMetrics.computeIfAbsent(listener, ListenerMetrics::new);
+        }
+        metrics.record(elapsedNanos, failed);
+
+        long threshold = slowListenerThresholdNanos;
+        if (threshold > 0 && elapsedNanos >= threshold) {
+            metrics.slowInvocations.increment();
+            SlowListenerHandler handler = slowListenerHandler;
+            if (handler != null) {
+                handler.onSlowListener(listener, event, elapsedNanos);
+            }
+        }
+    }
+
+    /**
+     * 移除监听器的统计数据，监听器被注销时调用
+     */
+    public void removeListener(ApplicationListener<?> listener) {
+        listenerMetrics.remove(listener);
+    }
+
+    /**
+     * 记录一个弱引用注册的监听器被回收
+     */
+    public void recordCollectedListener() {
+        collectedListeners.increment();
+    }
+
+    private static LongAdder counter(Map<Class<?>, LongAdder> counters, Class<?> eventType) {
+        LongAdder counter = counters.get(eventType);
+        return counter != null ? counter : counters.computeIfAbsent(eventType, type -> new LongAdder());
+    }
+
+    public long getPublishCount(Class<? extends ApplicationEvent> eventType) {
+        LongAdder counter = publishCounts.get(eventType);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public long getDeliveryCount(Class<? extends ApplicationEvent> eventType) {
+        LongAdder counter = deliveryCounts.get(eventType);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * @return 指定监听器的调用统计，没有调用过时返回 null
+     */
+    public ListenerStatistics getListenerStatistics(ApplicationListener<?> listener) {
+        ListenerMetrics metrics = listenerMetrics.get(listener);
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    @Override
+    public Map<String, Long> getPublishCounts() {
+        return toNamedCounts(publishCounts);
+    }
+
+    @Override
+    public Map<String, Long> getDeliveryCounts() {
+        return toNamedCounts(deliveryCounts);
+    }
+
+    private static Map<String, Long> toNamedCounts(Map<Class<?>, LongAdder> counters) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((type, counter) -> counts.put(type.getName(), counter.sum()));
+        return counts;
+    }
+
+    @Override
+    public List<ListenerStatistics> getListenerStatistics() {
+        List<ListenerStatistics> statistics = new ArrayList<>(listenerMetrics.size());
+        for (ListenerMetrics metrics : listenerMetrics.values()) {
+            statistics.add(metrics.snapshot());
+        }
+        return statistics;
+    }
+
+    @Override
+    public long getCollectedListenerCount() {
+        return collectedListeners.sum();
+    }
+
+    @Override
+    public long getSlowListenerThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowListenerThresholdNanos);
+    }
+
+    /**
+     * 设置慢监听器的阈值，单次调用耗时达到阈值时计为慢调用并通知 {@link SlowListenerHandler}；为 0 时（默认）不检测
+     */
+    @Override
+    public void setSlowListenerThresholdMillis(long slowListenerThresholdMillis) {
+        this.slowListenerThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowListenerThresholdMillis);
+    }
+
+    public void setSlowListenerHandler(SlowListenerHandler slowListenerHandler) {
+        this.slowListenerHandler = slowListenerHandler;
+    }
+
+    @Override
+    public void reset() {
+        publishCounts.clear();
+        deliveryCounts.clear();
+        listenerMetrics.clear();
+        collectedListeners.reset();
+    }
+
+    /**
+     * 设置 JMX 的 ObjectName，例如 {@code org.springframework:type=EventDispatchMetrics}
+     */
+    public void setObjectName(String objectName) {
+        this.objectName = objectName;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (objectName != null) {
+            registerMBean(ManagementFactory.getPlatformMBeanServer(), new ObjectName(objectName));
+        }
+    }
+
+    /**
+     * 注册到指定的 MBeanServer
+     */
+    public synchronized void registerMBean(MBeanServer mBeanServer, ObjectName name) throws Exception {
+        mBeanServer.registerMBean(this, name);
+        registeredObjectName = name;
+    }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (registeredObjectName != null) {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(registeredObjectName)) {
+                mBeanServer.unregisterMBean(registeredObjectName);
+            }
+            registeredObjectName = null;
+        }
+    }
+
+    /**
+     * 单个监听器的统计数据
+     */
+    private static final class ListenerMetrics {
+
+        private final String listenerName;
+
+        private final LongAdder invocations = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder slowInvocations = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+        ListenerMetrics(ApplicationListener<?> listener) {
+            this.listenerName = listener.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(listener));
+        }
+
+        void record(long elapsedNanos, boolean failed) {
+            invocations.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            histogram.incrementAndGet(bucketOf(elapsedNanos));
+        }
+
+        private static int bucketOf(long nanos) {
+            return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+        }
+
+        ListenerStatistics snapshot() {
+            long[] counts = new long[BUCKET_COUNT];
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            return new ListenerStatistics(listenerName, invocations.sum(), failures.sum(), slowInvocations.sum(),
+                    totalNanos.sum(), maxNanos.get(), percentile(counts, total, 0.5), percentile(counts, total, 0.99));
+        }
+
+        /**
+         * @return 分位数所在区间的上界
+         */
+        private static long percentile(long[] counts, long total, double percentile) {
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * percentile);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulative += counts[i];
+                if (cumulative >= target) {
+                    return i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.springframework.context.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通过 JMX 暴露的事件分发统计信息，由 {@link EventDispatchMetrics} 实现
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public interface EventDispatchMetricsMXBean {
+
+    /**
+     * @return 事件类型名称 -> 发布次数
+     */
+    Map<String, Long> getPublishCounts();
+
+    /**
+     * @return 事件类型名称 -> 投递给监听器的次数
+     */
+    Map<String, Long> getDeliveryCounts();
+
+    /**
+     * @return 每个监听器的调用统计
+     */
+    List<ListenerStatistics> getListenerStatistics();
+
+    /**
+     * @return 以弱引用方式注册、已被回收的监听器数量
+     */
+    long getCollectedListenerCount();
+
+    long getSlowListenerThresholdMillis();
+
+    void setSlowListenerThresholdMillis(long slowListenerThresholdMillis);
+
+    /**
+     * 清空所有统计数据
+     */
+    void reset();
+}
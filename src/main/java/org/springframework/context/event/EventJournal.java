@@ -0,0 +1,299 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 基于内存映射文件的追加日志，按固定大小滚动为多个段文件。
+ * <p>
+ * 每条记录的格式为：长度（4 字节）、CRC32 校验和（4 字节）、数据。写入时先写数据和校验和，最后写长度，
+ * 长度为 0 表示段文件的结尾；重放和重新打开时遇到长度或校验和不合法的记录即认为是未写完的记录，丢弃它及其后的内容。
+ * <p>
+ * 每追加 syncEveryRecords 条记录调用一次 {@link MappedByteBuffer#force()} 刷盘，滚动段文件和关闭时也会刷盘。
+ * 滚动时按 maxSegments 和 retentionMillis 删除过期的段文件。
+ * <p>
+ * 重放时只在锁内确定要读取的段文件和当前段的写入位置，读取记录和调用回调都在锁外进行，
+ * 回调中可以继续追加记录，重放过程中追加的记录不会被本次重放读到。
+ *
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class EventJournal implements InitializingBean, DisposableBean {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private String directory;
+
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private int syncEveryRecords = 64;
+
+    private int maxSegments;
+
+    private long retentionMillis;
+
+    private Path directoryPath;
+
+    // 按编号排列的段文件，最后一个是当前写入的段
+    private final List<Path> segments = new ArrayList<>();
+
+    private long currentSegmentIndex;
+
+    private MappedByteBuffer current;
+
+    private int unsyncedRecords;
+
+    private final CRC32 crc = new CRC32();
+
+    public EventJournal() {
+    }
+
+    public EventJournal(String directory) throws IOException {
+        this.directory = directory;
+        open();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        open();
+    }
+
+    /**
+     * 打开日志目录，从最后一个段文件的末尾继续写入
+     */
+    public synchronized void open() throws IOException {
+        if (current != null) {
+            return;
+        }
+        directoryPath = Paths.get(directory);
+        Files.createDirectories(directoryPath);
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directoryPath, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(existing::add);
+        }
+        existing.sort((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)));
+        segments.addAll(existing);
+
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            currentSegmentIndex = segmentIndex(last);
+            current = map(last, FileChannel.MapMode.READ_WRITE, Math.max(segmentSize, (int) Files.size(last)));
+            int end = scan(current, null);
+            // 存在未写完的记录时清除其后的内容，避免残留的数据在之后被当作合法记录
+            if (end + 4 <= current.limit() && current.getInt(end) != 0) {
+                for (int i = end; i < current.limit(); i++) {
+                    current.put(i, (byte) 0);
+                }
+            }
+            current.position(end);
+        }
+        applyRetention();
+    }
+
+    /**
+     * 追加一条记录
+     */
+    public synchronized void append(byte[] data) throws IOException {
+        if (current == null) {
+            throw new IllegalStateException("Event journal is not open");
+        }
+        if (data.length == 0 || data.length + RECORD_HEADER_SIZE > segmentSize) {
+            throw new IllegalArgumentException("Record size " + data.length + " does not fit into a segment of " + segmentSize + " bytes");
+        }
+        if (current.remaining() < data.length + RECORD_HEADER_SIZE) {
+            roll();
+        }
+        int position = current.position();
+        crc.reset();
+        crc.update(data);
+        current.position(position + RECORD_HEADER_SIZE);
+        current.put(data);
+        current.putInt(position + 4, (int) crc.getValue());
+        // 最后写入长度，长度不为 0 的记录才会被读取
+        current.putInt(position, data.length);
+        if (++unsyncedRecords >= syncEveryRecords) {
+            sync();
+        }
+    }
+
+    /**
+     * 将尚未刷盘的记录写入磁盘
+     */
+    public synchronized void sync() {
+        if (unsyncedRecords > 0 && current != null) {
+            current.force();
+            unsyncedRecords = 0;
+        }
+    }
+
+    /**
+     * 按写入顺序读取调用时已经写入的所有记录
+     *
+     * @param consumer 接收每条记录的数据，在锁外调用
+     */
+    public void replay(Consumer<byte[]> consumer) throws IOException {
+        for (MappedByteBuffer buffer : snapshot()) {
+            scan(buffer, consumer);
+        }
+    }
+
+    /**
+     * 映射所有段文件，当前段只读到当前的写入位置；映射建立后删除段文件或继续写入当前段都不影响读取
+     */
+    private synchronized List<MappedByteBuffer> snapshot() throws IOException {
+        List<MappedByteBuffer> buffers = new ArrayList<>(segments.size());
+        for (Path segment : segments) {
+            if (segmentIndex(segment) == currentSegmentIndex && current != null) {
+                MappedByteBuffer buffer = current.duplicate();
+                buffer.limit(current.position());
+                buffers.add(buffer);
+            } else {
+                buffers.add(map(segment, FileChannel.MapMode.READ_ONLY, (int) Files.size(segment)));
+            }
+        }
+        return buffers;
+    }
+
+    /**
+     * 读取缓冲区中的记录，可能在锁外调用，因此使用自己的 CRC32
+     *
+     * @return 最后一条合法记录的结束位置
+     */
+    private static int scan(MappedByteBuffer buffer, Consumer<byte[]> consumer) {
+        CRC32 crc = new CRC32();
+        int position = 0;
+        int limit = buffer.limit();
+        while (position + RECORD_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > limit) {
+                break;
+            }
+            byte[] data = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, data);
+            crc.reset();
+            crc.update(data);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            if (consumer != null) {
+                consumer.accept(data);
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private void roll() throws IOException {
+        current.force();
+        unsyncedRecords = 0;
+        openSegment(currentSegmentIndex + 1);
+        applyRetention();
+    }
+
+    private void openSegment(long index) throws IOException {
+        Path segment = directoryPath.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+        current = map(segment, FileChannel.MapMode.READ_WRITE, segmentSize);
+        currentSegmentIndex = index;
+        segments.add(segment);
+    }
+
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, int size) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        // 关闭 channel 不影响已经建立的映射
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    /**
+     * 删除超出数量或保留时间的段文件，当前写入的段不会被删除
+     */
+    private void applyRetention() throws IOException {
+        long expiredBefore = retentionMillis > 0 ? System.currentTimeMillis() - retentionMillis : Long.MIN_VALUE;
+        while (segments.size() > 1) {
+            Path oldest = segments.get(0);
+            boolean tooMany = maxSegments > 0 && segments.size() > maxSegments;
+            if (!tooMany && Files.getLastModifiedTime(oldest).toMillis() >= expiredBefore) {
+                break;
+            }
+            Files.deleteIfExists(oldest);
+            segments.remove(0);
+        }
+    }
+
+    private static long segmentIndex(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * @return 当前保留的段文件数量
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 设置每个段文件的大小（字节），默认 64MB；单条记录不能超过段文件大小
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 设置每追加多少条记录刷盘一次，默认 64；设置为 1 时每条记录都立即刷盘
+     */
+    public void setSyncEveryRecords(int syncEveryRecords) {
+        this.syncEveryRecords = syncEveryRecords;
+    }
+
+    /**
+     * 设置最多保留的段文件数量，为 0 时（默认）不限制
+     */
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * 设置段文件的保留时间（毫秒），为 0 时（默认）不限制
+     */
+    public void setRetentionMillis(long retentionMillis) {
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * 刷盘并关闭日志
+     */
+    @Override
+    public synchronized void destroy() {
+        if (current != null) {
+            current.force();
+            unsyncedRecords = 0;
+            current = null;
+            segments.clear();
+        }
+    }
+}
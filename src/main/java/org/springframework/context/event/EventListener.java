@@ -0,0 +1,32 @@
+package org.springframework.context.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 将 bean 的方法声明为事件监听器，方法只能有一个参数，参数类型就是监听的事件类型。
+ * <p>
+ * 一个 bean 可以用多个方法监听不同类型的事件，不需要为每种事件单独实现 {@link org.springframework.context.ApplicationListener}：
+ * <pre>{@code
+ * public class OrderService {
+ *
+ *     @EventListener
+ *     public void onCreated(OrderCreatedEvent event) { ... }
+ *
+ *     @EventListener
+ *     public void onCancelled(OrderCancelledEvent event) { ... }
+ * }
+ * }</pre>
+ * 只对单例 bean 生效，由 {@link EventListenerMethodProcessor} 在 bean 初始化后注册到容器中。
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EventListener {
+}
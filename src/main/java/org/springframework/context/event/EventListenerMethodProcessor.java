@@ -0,0 +1,143 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 查找单例 bean 中带有 {@link EventListener} 注解的方法，将其包装为 {@link ApplicationListenerMethodAdapter} 注册到容器中。
+ * <p>
+ * 每个类只扫描一次，并为每个方法生成类型为 (Object, ApplicationEvent)void 的 MethodHandle 缓存起来，
+ * 同一个类的多个 bean 共享这些 MethodHandle，发布事件时不再经过 {@link Method#invoke} 反射调用。
+ * 通过 {@link #supportsBeanType(Class)} 声明只处理有监听方法的类型，其他 bean 的创建不会经过这个处理器。
+ * <p>
+ * 这个处理器在 AOP 的自动代理之前执行，此时拿到的是原始 bean，因此监听器只记录 bean 名称，
+ * 第一次收到事件时再通过 {@link ConfigurableListableBeanFactory#getBean(String)} 取得最终暴露的 bean（可能是代理），
+ * 使切面对监听方法生效。
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class EventListenerMethodProcessor implements BeanPostProcessor {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, ApplicationEvent.class);
+
+    private static final ListenerMethod[] NO_LISTENER_METHODS = new ListenerMethod[0];
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    // bean 类型 -> 监听方法
+    private final Map<Class<?>, ListenerMethod[]> listenerMethodsCache = new ConcurrentHashMap<>();
+
+    public EventListenerMethodProcessor(ConfigurableApplicationContext applicationContext, ConfigurableListableBeanFactory beanFactory) {
+        this.applicationContext = applicationContext;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        ListenerMethod[] listenerMethods = findListenerMethods(bean.getClass());
+        // 每次创建 prototype bean 都注册监听器会导致泄漏，只处理有 BeanDefinition 的单例
+        if (listenerMethods.length > 0 && beanFactory.containsBeanDefinition(beanName)
+                && beanFactory.getBeanDefinition(beanName).isSingleton()) {
+            for (ListenerMethod listenerMethod : listenerMethods) {
+                applicationContext.addApplicationListener(new ApplicationListenerMethodAdapter(beanName, beanFactory, bean,
+                        listenerMethod.method, listenerMethod.eventType, listenerMethod.invoker));
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean supportsBeanType(Class<?> beanType) {
+        return findListenerMethods(beanType).length > 0;
+    }
+
+    private ListenerMethod[] findListenerMethods(Class<?> beanClass) {
+        ListenerMethod[] listenerMethods = listenerMethodsCache.get(beanClass);
+        if (listenerMethods == null) {
+            listenerMethods = listenerMethodsCache.computeIfAbsent(beanClass, EventListenerMethodProcessor::introspect);
+        }
+        return listenerMethods;
+    }
+
+    /**
+     * 查找类及其父类中的监听方法，子类重写的方法只保留一个
+     */
+    private static ListenerMethod[] introspect(Class<?> beanClass) {
+        List<ListenerMethod> listenerMethods = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+        for (Class<?> clazz = beanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic() || !method.isAnnotationPresent(EventListener.class)) {
+                    continue;
+                }
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                if (parameterTypes.length != 1 || !ApplicationEvent.class.isAssignableFrom(parameterTypes[0])) {
+                    throw new BeansException("@EventListener method " + method + " must declare exactly one ApplicationEvent parameter");
+                }
+                if (Modifier.isStatic(method.getModifiers())) {
+                    throw new BeansException("@EventListener method " + method + " must not be static");
+                }
+                if (signatures.add(method.getName() + "(" + parameterTypes[0].getName() + ")")) {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends ApplicationEvent> eventType = (Class<? extends ApplicationEvent>) parameterTypes[0];
+                    listenerMethods.add(new ListenerMethod(method, eventType, createInvoker(method)));
+                }
+            }
+        }
+        return listenerMethods.isEmpty() ? NO_LISTENER_METHODS : listenerMethods.toArray(NO_LISTENER_METHODS);
+    }
+
+    static MethodHandle createInvoker(Method method) {
+        try {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+            } catch (IllegalAccessException e) {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            }
+            // 忽略返回值，参数统一为 (Object, ApplicationEvent)
+            return handle.asType(INVOKER_TYPE);
+        } catch (Exception e) {
+            throw new BeansException("Could not access @EventListener method " + method, e);
+        }
+    }
+
+    private static final class ListenerMethod {
+
+        private final Method method;
+
+        private final Class<? extends ApplicationEvent> eventType;
+
+        private final MethodHandle invoker;
+
+        ListenerMethod(Method method, Class<? extends ApplicationEvent> eventType, MethodHandle invoker) {
+            this.method = method;
+            this.eventType = eventType;
+            this.invoker = invoker;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 将指定类型的事件持久化到 {@link EventJournal} 的事件广播器装饰器，重启后可以从日志重放事件重建内存状态。
+ * <p>
+ * 需要持久化的事件先通过 {@link EventCodec} 编码后追加到日志，再交给被装饰的广播器广播；其他事件直接广播。
+ * 收到第一个 {@link ContextRefreshedEvent} 时（此时所有监听器都已注册），先把日志中的事件按写入顺序重放给监听器，
+ * 重放按批次调用 {@link ApplicationEventMulticaster#multicastEvents}，同一类型的事件只匹配一次监听器；重放的事件不会再次写入日志。
+ * 重放时不持有日志的锁，监听器可以在重放过程中发布需要持久化的事件。
+ * <p>
+ * 事件源不会被持久化：使用默认的 {@link SerializationEventCodec} 时，重放的事件的 {@link ApplicationEvent#getSource()} 为 null，
+ * 监听器需要根据事件中的字段而不是事件源重建状态。反序列化只允许白名单中的类型，事件中包含其他类型时需要通过
+ * {@link SerializationEventCodec#setAllowedClasses(Class[])} 声明。
+ * <p>
+ * 在容器中定义名为 applicationEventMulticaster 的 bean 即可启用：
+ * <pre>{@code
+ * <bean id="eventJournal" class="org.springframework.context.event.EventJournal">
+ *     <property name="directory" value="/var/data/events"/>
+ * </bean>
+ * <bean id="applicationEventMulticaster" class="org.springframework.context.event.JournalingApplicationEventMulticaster">
+ *     <property name="delegate" ref="simpleMulticaster"/>
+ *     <property name="journal" ref="eventJournal"/>
+ *     <property name="journaledEventTypes" value="com.example.OrderCreatedEvent,com.example.OrderCancelledEvent"/>
+ * </bean>
+ * }</pre>
+ *
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class JournalingApplicationEventMulticaster implements ApplicationEventMulticaster {
+
+    private ApplicationEventMulticaster delegate;
+
+    private EventJournal journal;
+
+    private EventCodec codec = new SerializationEventCodec();
+
+    private Class<?>[] journaledEventTypes = new Class<?>[0];
+
+    private int replayBatchSize = 256;
+
+    private volatile boolean replayed;
+
+    private long replayedCount;
+
+    public JournalingApplicationEventMulticaster() {
+    }
+
+    public JournalingApplicationEventMulticaster(ApplicationEventMulticaster delegate, EventJournal journal) {
+        this.delegate = delegate;
+        this.journal = journal;
+    }
+
+    @Override
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        delegate.addApplicationListener(listener);
+    }
+
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        delegate.removeApplicationListener(listener);
+    }
+
+    @Override
+    public void multicastEvent(ApplicationEvent event) {
+        if (event instanceof ContextRefreshedEvent && !replayed) {
+            replay();
+        }
+        if (isJournaled(event)) {
+            append(event);
+        }
+        delegate.multicastEvent(event);
+    }
+
+    @Override
+    public void multicastEvents(Collection<? extends ApplicationEvent> events) {
+        for (ApplicationEvent event : events) {
+            if (isJournaled(event)) {
+                append(event);
+            }
+        }
+        delegate.multicastEvents(events);
+    }
+
+    private boolean isJournaled(ApplicationEvent event) {
+        for (Class<?> journaledEventType : journaledEventTypes) {
+            if (journaledEventType.isInstance(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(ApplicationEvent event) {
+        try {
+            journal.append(codec.encode(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal event " + event, e);
+        }
+    }
+
+    /**
+     * 将日志中的事件重放给当前注册的监听器，只执行一次；重放的事件的事件源为 null
+     */
+    public synchronized void replay() {
+        if (replayed) {
+            return;
+        }
+        List<ApplicationEvent> batch = new ArrayList<>(replayBatchSize);
+        try {
+            journal.replay(data -> {
+                batch.add(codec.decode(data));
+                replayedCount++;
+                if (batch.size() >= replayBatchSize) {
+                    delegate.multicastEvents(batch);
+                    batch.clear();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay event journal", e);
+        }
+        if (!batch.isEmpty()) {
+            delegate.multicastEvents(batch);
+        }
+        replayed = true;
+    }
+
+    /**
+     * @return 重放的事件数量
+     */
+    public synchronized long getReplayedCount() {
+        return replayedCount;
+    }
+
+    public ApplicationEventMulticaster getDelegate() {
+        return delegate;
+    }
+
+    public void setDelegate(ApplicationEventMulticaster delegate) {
+        this.delegate = delegate;
+    }
+
+    public void setJournal(EventJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 设置事件编解码器，默认使用 Java 序列化
+     */
+    public void setCodec(EventCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * 设置需要持久化的事件类型，包括其子类
+     */
+    public void setJournaledEventTypes(Class<?>[] journaledEventTypes) {
+        this.journaledEventTypes = journaledEventTypes;
+    }
+
+    /**
+     * 设置重放时每批广播的事件数量，默认 256
+     */
+    public void setReplayBatchSize(int replayBatchSize) {
+        this.replayBatchSize = replayBatchSize;
+    }
+}
@@ -0,0 +1,87 @@
+package org.springframework.context.event;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 按 key 串行执行任务：key 相同的任务按提交顺序依次执行，不同 key 的任务在线程池中并发执行。
+ * <p>
+ * 每个 key 对应一个任务队列，map 中存在该 key 即表示已有一个排空队列的任务在线程池中执行或等待执行；
+ * 所有对队列的修改都在 {@link ConcurrentHashMap#compute} 中完成，队列排空后随即从 map 中移除。
+ * <p>
+ * 线程池拒绝排空任务时在当前线程排空队列，key 不会一直处于占用状态而使后续任务永远得不到执行。
+ *
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+class KeyedSerialExecutor {
+
+    private final Map<Object, Queue<Runnable>> queues = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    void execute(Object key, Runnable task) {
+        execute(key, task, false);
+    }
+
+    /**
+     * 把任务追加到 key 的队列中
+     *
+     * @param callerRuns 为 true 时，如果 key 当前空闲则在当前线程排空队列，否则只追加到队列中；
+     *                   两种情况都保持同一 key 的任务按提交顺序串行执行
+     */
+    void execute(Object key, Runnable task, boolean callerRuns) {
+        boolean[] schedule = new boolean[1];
+        queues.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                schedule[0] = true;
+            }
+            queue.add(task);
+            return queue;
+        });
+        if (schedule[0]) {
+            if (callerRuns) {
+                drain(key);
+            } else {
+                schedule(key);
+            }
+        }
+    }
+
+    private void schedule(Object key) {
+        try {
+            executor.execute(() -> drain(key));
+        } catch (RejectedExecutionException e) {
+            drain(key);
+        }
+    }
+
+    private void drain(Object key) {
+        Runnable[] next = new Runnable[1];
+        while (true) {
+            queues.computeIfPresent(key, (k, queue) -> {
+                next[0] = queue.poll();
+                return next[0] != null ? queue : null;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            try {
+                next[0].run();
+            } catch (RuntimeException | Error e) {
+                // 不让一个任务的异常阻塞同一 key 后续的任务
+                schedule(key);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.springframework.context.event;
+
+/**
+ * 某个监听器调用统计的不可变快照，由 {@link EventDispatchMetrics#getListenerStatistics()} 返回。
+ * <p>
+ * 耗时分位数来自以 2 的幂为边界的直方图，返回的是所在区间的上界，只是近似值。
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class ListenerStatistics {
+
+    private final String listenerName;
+
+    private final long invocationCount;
+
+    private final long failureCount;
+
+    private final long slowInvocationCount;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    private final long medianNanos;
+
+    private final long p99Nanos;
+
+    public ListenerStatistics(String listenerName, long invocationCount, long failureCount, long slowInvocationCount,
+                              long totalNanos, long maxNanos, long medianNanos, long p99Nanos) {
+        this.listenerName = listenerName;
+        this.invocationCount = invocationCount;
+        this.failureCount = failureCount;
+        this.slowInvocationCount = slowInvocationCount;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.medianNanos = medianNanos;
+        this.p99Nanos = p99Nanos;
+    }
+
+    public String getListenerName() {
+        return listenerName;
+    }
+
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * @return 抛出异常的调用次数
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return 耗时超过慢监听器阈值的调用次数
+     */
+    public long getSlowInvocationCount() {
+        return slowInvocationCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getAverageNanos() {
+        return invocationCount == 0 ? 0 : totalNanos / invocationCount;
+    }
+
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    @Override
+    public String toString() {
+        return listenerName + ": invocations=" + invocationCount + ", failures=" + failureCount
+                + ", slow=" + slowInvocationCount + ", avg=" + getAverageNanos() + "ns, p50<=" + medianNanos
+                + "ns, p99<=" + p99Nanos + "ns, max=" + maxNanos + "ns";
+    }
+}
@@ -0,0 +1,290 @@
+package org.springframework.context.event;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于预分配环形缓冲区的事件广播器，适用于大量的自定义事件（如监控、埋点事件）。
+ * <p>
+ * 发布事件的线程只需要通过一次原子自增领取一个序号，把事件写入对应的槽位并标记为可用，不加锁，也不创建任务对象；
+ * 一个后台消费线程按序号顺序批量取出所有可用的事件，依次广播给监听器，每批只更新一次消费进度。
+ * 缓冲区写满时发布线程等待消费线程腾出空间。消费线程的等待方式由 {@link WaitStrategy} 决定，
+ * 发布线程的数量不受控制，因此即使配置了 {@link WaitStrategy#BUSY_SPIN} 也会在短暂自旋后让出 CPU。
+ * 监听器在消费线程中发布的事件直接同步广播，避免缓冲区已满时消费线程等待自己腾出空间。
+ * <p>
+ * 容器生命周期事件（{@link ApplicationContextEvent}）不经过缓冲区，仍然同步广播，保证容器关闭事件在销毁 bean 之前处理完。
+ * 监听器的调用、异常处理和统计复用 {@link SimpleApplicationEventMulticaster}。
+ * <p>
+ * 在容器中定义名为 applicationEventMulticaster 的 bean 即可替换默认的广播器：
+ * <pre>{@code
+ * <bean id="applicationEventMulticaster" class="org.springframework.context.event.RingBufferApplicationEventMulticaster">
+ *     <property name="bufferSize" value="4096"/>
+ *     <property name="waitStrategy" value="YIELD"/>
+ * </bean>
+ * }</pre>
+ * 销毁时关闭缓冲区：已经领取序号的事件由消费线程处理完后停止，之后发布的事件同步广播。
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class RingBufferApplicationEventMulticaster extends SimpleApplicationEventMulticaster implements DisposableBean {
+
+    /**
+     * 消费线程等待新事件、发布线程等待空闲槽位时的等待方式
+     */
+    public enum WaitStrategy {
+
+        /**
+         * 自旋等待，延迟最低，但会一直占用一个 CPU
+         */
+        BUSY_SPIN {
+            @Override
+            void idle(int attempts) {
+                Thread.onSpinWait();
+            }
+        },
+
+        /**
+         * 短暂自旋后让出 CPU
+         */
+        YIELD {
+            @Override
+            void idle(int attempts) {
+                if (attempts < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        },
+
+        /**
+         * 短暂自旋后挂起线程，CPU 占用最低，延迟最高
+         */
+        PARK {
+            @Override
+            void idle(int attempts) {
+                if (attempts < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        };
+
+        private static final int SPIN_TRIES = 100;
+
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+        /**
+         * @param attempts 本次等待中已经等待的次数
+         */
+        abstract void idle(int attempts);
+    }
+
+    private int bufferSize = 1024;
+
+    private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
+    private ApplicationEvent[] entries;
+
+    private int mask;
+
+    private int indexShift;
+
+    // 每个槽位中的事件属于第几圈，等于 序号 >>> indexShift 时表示该序号的事件已写入
+    private AtomicIntegerArray availableRounds;
+
+    // 缓冲区关闭后在 cursor 上设置的标记位，此后领取到的序号都带有该标记
+    private static final long CLOSED = 1L << 62;
+
+    // 已被发布线程领取的最大序号
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    // 关闭缓冲区时已领取的最大序号，消费线程处理到这里为止
+    private volatile long closedSequence = Long.MAX_VALUE;
+
+    // 消费线程已处理完的最大序号
+    private final AtomicLong consumerSequence = new AtomicLong(-1);
+
+    private volatile Thread consumer;
+
+    private volatile boolean running;
+
+    @Override
+    public void multicastEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationContextEvent || !ensureStarted() || Thread.currentThread() == consumer) {
+            super.multicastEvent(event);
+            return;
+        }
+        long sequence = cursor.incrementAndGet();
+        if ((sequence & CLOSED) != 0) {
+            // 通过 ensureStarted 之后缓冲区被关闭，消费线程不会再处理这个序号
+            super.multicastEvent(event);
+            return;
+        }
+        // 等待消费线程处理完上一圈中同一个槽位的事件
+        long wrapPoint = sequence - bufferSize;
+        WaitStrategy producerWait = waitStrategy == WaitStrategy.BUSY_SPIN ? WaitStrategy.YIELD : waitStrategy;
+        for (int attempts = 0; wrapPoint > consumerSequence.get(); attempts++) {
+            producerWait.idle(attempts);
+        }
+        int index = (int) (sequence & mask);
+        entries[index] = event;
+        // 有序写入，保证消费线程看到可用标记时也能看到事件
+        availableRounds.lazySet(index, (int) (sequence >>> indexShift));
+    }
+
+    /**
+     * @return 消费线程是否在运行，已经停止时返回 false
+     */
+    private boolean ensureStarted() {
+        if (consumer == null) {
+            synchronized (this) {
+                if (consumer == null) {
+                    start();
+                }
+            }
+        }
+        return running;
+    }
+
+    private void start() {
+        entries = new ApplicationEvent[bufferSize];
+        mask = bufferSize - 1;
+        indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        availableRounds = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+        running = true;
+        Thread thread = new Thread(this::consume, "ring-buffer-event-multicaster");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    private boolean isAvailable(long sequence) {
+        return availableRounds.get((int) (sequence & mask)) == (int) (sequence >>> indexShift);
+    }
+
+    private void consume() {
+        long next = consumerSequence.get() + 1;
+        int attempts = 0;
+        List<ApplicationEvent> batch = new ArrayList<>(Math.min(bufferSize, 256));
+        // 关闭后继续处理关闭前已经领取序号的事件
+        while (running || next <= closedSequence) {
+            if (!isAvailable(next)) {
+                waitStrategy.idle(attempts++);
+                continue;
+            }
+            attempts = 0;
+            long last = next;
+            while (last - next + 1 < bufferSize && isAvailable(last + 1)) {
+                last++;
+            }
+            for (long sequence = next; sequence <= last; sequence++) {
+                int index = (int) (sequence & mask);
+                batch.add(entries[index]);
+                entries[index] = null;
+            }
+            dispatch(batch);
+            batch.clear();
+            consumerSequence.set(last);
+            next = last + 1;
+        }
+    }
+
+    private void dispatch(List<ApplicationEvent> batch) {
+        try {
+            super.multicastEvents(batch);
+        } catch (RuntimeException | Error e) {
+            // 监听器的异常已在 invokeListener 中处理，这里只会是其他异常，例如设置的 ErrorHandler 本身抛出的异常
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * 消费线程中没有设置 ErrorHandler 时，监听器的异常交给线程的异常处理器，同一批中的其他事件和监听器继续处理
+     */
+    @Override
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        if (getErrorHandler() != null || Thread.currentThread() != consumer) {
+            super.invokeListener(listener, event);
+            return;
+        }
+        try {
+            super.invokeListener(listener, event);
+        } catch (RuntimeException | Error e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * @return 已发布但尚未处理完的事件数量
+     */
+    public long getBacklog() {
+        long published = cursor.get();
+        if ((published & CLOSED) != 0) {
+            published = Math.min(published & ~CLOSED, closedSequence);
+        }
+        return published - consumerSequence.get();
+    }
+
+    /**
+     * 设置缓冲区大小，必须是 2 的幂，默认 1024；需要在发布第一个事件之前设置
+     */
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of 2: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * 关闭缓冲区，等待关闭前已领取序号的事件处理完后停止消费线程
+     */
+    @Override
+    public void destroy() throws Exception {
+        Thread thread;
+        synchronized (this) {
+            // 先关闭缓冲区再停止消费线程：关闭之后领取的序号带有标记，由发布线程自己同步广播
+            long previous = cursor.getAndUpdate(sequence -> sequence | CLOSED);
+            if ((previous & CLOSED) == 0) {
+                closedSequence = previous;
+            }
+            running = false;
+            thread = consumer;
+            if (thread == null) {
+                // 没有启动过，之后的事件直接同步广播
+                consumer = Thread.currentThread();
+                return;
+            }
+        }
+        if (thread != Thread.currentThread()) {
+            thread.join();
+        }
+    }
+}
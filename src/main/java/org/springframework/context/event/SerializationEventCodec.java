@@ -0,0 +1,128 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 使用 Java 序列化的事件编解码器，{@link JournalingApplicationEventMulticaster} 和
+ * {@link BridgingApplicationEventMulticaster} 的默认实现。
+ * <p>
+ * 事件源（{@link java.util.EventObject#source}）是 transient 字段，不会被写入，解码出的事件的事件源为 null。
+ * <p>
+ * 解码的数据可能来自日志文件或其他进程，因此反序列化时使用白名单 {@link ObjectInputFilter}，只允许：
+ * 1. {@link ApplicationEvent} 及其子类，以及父类 {@link EventObject}
+ * 2. 基本类型及其包装类、String、枚举、BigDecimal、BigInteger、UUID、java.time 中的类型
+ * 3. 常用集合 ArrayList、LinkedList、HashMap、LinkedHashMap、HashSet、LinkedHashSet
+ * 4. 通过 {@link #setAllowedClasses(Class[])} 额外允许的类型及其子类
+ * 5. 元素类型满足上述条件的数组以及 Object[]，数组中的元素同样经过过滤
+ * 同时限制对象图的深度、引用数量和数组长度。其他类型的数据解码时抛出异常。
+ *
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class SerializationEventCodec implements EventCodec {
+
+    private static final long MAX_DEPTH = 32;
+
+    private static final long MAX_REFERENCES = 10_000;
+
+    private static final long MAX_ARRAY_LENGTH = 1 << 20;
+
+    private static final Set<Class<?>> ALLOWED_CLASSES = Set.of(
+            EventObject.class, String.class, Boolean.class, Character.class, Number.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigDecimal.class, BigInteger.class, UUID.class, Enum.class,
+            ArrayList.class, LinkedList.class, HashMap.class, LinkedHashMap.class, HashSet.class, LinkedHashSet.class);
+
+    private List<Class<?>> allowedClasses = Collections.emptyList();
+
+    private final ObjectInputFilter inputFilter = this::checkInput;
+
+    @Override
+    public byte[] encode(ApplicationEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize event " + event, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public ApplicationEvent decode(byte[] data) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            in.setObjectInputFilter(inputFilter);
+            Object event = in.readObject();
+            if (!(event instanceof ApplicationEvent)) {
+                throw new IllegalStateException("Deserialized object is not an ApplicationEvent: " + event);
+            }
+            return (ApplicationEvent) event;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize event", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to deserialize event", e);
+        }
+    }
+
+    private ObjectInputFilter.Status checkInput(ObjectInputFilter.FilterInfo info) {
+        if (info.depth() > MAX_DEPTH || info.references() > MAX_REFERENCES || info.arrayLength() > MAX_ARRAY_LENGTH) {
+            return ObjectInputFilter.Status.REJECTED;
+        }
+        Class<?> type = info.serialClass();
+        if (type == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        if (type.isArray()) {
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            // 集合内部使用 Object[] 保存元素，元素本身会再经过过滤
+            if (type == Object.class) {
+                return ObjectInputFilter.Status.ALLOWED;
+            }
+        }
+        return isAllowed(type) ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+    }
+
+    private boolean isAllowed(Class<?> type) {
+        if (type.isPrimitive() || ALLOWED_CLASSES.contains(type)
+                || ApplicationEvent.class.isAssignableFrom(type) || Enum.class.isAssignableFrom(type)
+                || type.getName().startsWith("java.time.")) {
+            return true;
+        }
+        for (Class<?> allowedClass : allowedClasses) {
+            if (allowedClass.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 设置事件字段中额外允许反序列化的类型，包括其子类
+     */
+    public void setAllowedClasses(Class<?>[] allowedClasses) {
+        this.allowedClasses = List.of(allowedClasses);
+    }
+}
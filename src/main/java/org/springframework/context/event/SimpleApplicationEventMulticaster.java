@@ -1,13 +1,18 @@
 package org.springframework.context.event;
 
-import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.LoggingErrorHandler;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * 一个简单的事件广播器实现，继承自 {@link AbstractApplicationEventMulticaster}。
@@ -16,11 +21,63 @@ import java.lang.reflect.Type;
  * 并调用支持该事件类型的监听器的 {@code onApplicationEvent} 方法。
  * </p>
  * 通常用于在 Spring 容器中广播事件。
+ * <p>
+ * 默认在发布事件的线程中同步调用监听器。设置 {@link #setTaskExecutor(Executor) 线程池} 后改为异步投递
+ * （Java 21 上可以使用 {@code Executors.newVirtualThreadPerTaskExecutor()}）：
+ * - 监听器可以通过 {@link AsyncCapableApplicationListener} 单独选择同步或异步
+ * - 通过 {@link #setQueueCapacity(int)} 限制尚未执行完的异步投递数量，超出时按 {@link RejectionPolicy} 处理
+ * - 通过 {@link #setEventKeyResolver(Function)} 为事件指定 key，key 相同的事件按发布顺序投递
+ * - 设置 {@link #setErrorHandler(ErrorHandler)} 后，一个监听器抛出的异常交给它处理，不会影响其他监听器；
+ *   未设置时同步调用的监听器抛出的异常直接抛给发布方，异步调用的监听器抛出的异常交给 {@link LoggingErrorHandler} 记录日志
+ * <p>
+ * 设置 {@link #setDispatchMetrics(EventDispatchMetrics)} 后统计事件发布次数和监听器耗时。
  *
  * @author zhenghong
  * @date 2025/6/7
  */
-public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster{
+public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster {
+
+    /**
+     * 异步投递数量达到上限时的处理方式
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * 抛出 {@link RejectedExecutionException}
+         */
+        ABORT,
+
+        /**
+         * 在发布事件的线程中同步投递，从而减慢发布速度。
+         * 有 key 的投递仍然经过该 key 的串行队列：key 空闲时由发布线程排空队列，否则追加到队列中，从而保持同一 key 的顺序
+         */
+        CALLER_RUNS,
+
+        /**
+         * 丢弃本次投递
+         */
+        DISCARD
+    }
+
+    private Executor taskExecutor;
+
+    private KeyedSerialExecutor keyedExecutor;
+
+    private ErrorHandler errorHandler;
+
+    private Function<ApplicationEvent, Object> eventKeyResolver;
+
+    private int queueCapacity = Integer.MAX_VALUE;
+
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+    private EventDispatchMetrics dispatchMetrics;
+
+    // 已提交但尚未执行完的异步投递数量
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+
+    public SimpleApplicationEventMulticaster() {
+    }
 
     public SimpleApplicationEventMulticaster(BeanFactory beanFactory) {
         setBeanFactory(beanFactory);
@@ -28,35 +85,228 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 
     @Override
     public void multicastEvent(ApplicationEvent event) {
-        for (ApplicationListener<?> listener : applicationListeners) {
-            if (supportsEvent(listener, event)) {
-                @SuppressWarnings("unchecked")
-                ApplicationListener<ApplicationEvent> casted =
-                        (ApplicationListener<ApplicationEvent>) listener;
-                casted.onApplicationEvent(event);
+        multicastEvent(event, getApplicationListeners(event));
+    }
+
+    /**
+     * 按顺序广播一批事件，同一类型的事件只匹配一次监听器
+     */
+    @Override
+    public void multicastEvents(Collection<? extends ApplicationEvent> events) {
+        Map<Class<?>, ApplicationListener<?>[]> listenersByType = new HashMap<>();
+        Class<?> lastEventType = null;
+        ApplicationListener<?>[] lastListeners = null;
+        for (ApplicationEvent event : events) {
+            // 批量事件通常是连续的同类型事件，优先复用上一个事件的匹配结果
+            if (event.getClass() != lastEventType) {
+                lastEventType = event.getClass();
+                lastListeners = listenersByType.computeIfAbsent(lastEventType, type -> getApplicationListeners(event));
+            }
+            multicastEvent(event, lastListeners);
+        }
+    }
+
+    private void multicastEvent(ApplicationEvent event, ApplicationListener<?>[] listeners) {
+        EventDispatchMetrics metrics = this.dispatchMetrics;
+        if (metrics != null) {
+            metrics.recordPublish(event);
+        }
+        Object key = taskExecutor != null && eventKeyResolver != null ? eventKeyResolver.apply(event) : null;
+        if (key != null) {
+            multicastOrdered(key, listeners, event);
+            return;
+        }
+        for (ApplicationListener<?> listener : listeners) {
+            if (isAsync(listener)) {
+                submit(null, () -> invokeAsyncListener(listener, event));
+            } else {
+                invokeListener(listener, event);
             }
         }
     }
 
     /**
-     * 判断给定监听器是否支持处理该事件类型。
-     *
-     * @param applicationListener 当前要判断的监听器
-     * @param event               当前触发的事件
-     * @return 如果该监听器的泛型参数与事件类型兼容，返回 true；否则返回 false
+     * key 相同的事件按发布顺序投递：同步监听器立即调用，异步监听器合并为一个任务，在该 key 的串行队列中依次调用
      */
-    protected boolean supportsEvent(ApplicationListener<?> applicationListener, ApplicationEvent event) {
-        Type type = applicationListener.getClass().getGenericInterfaces()[0];
-        Type actualTypeArgument = ((ParameterizedType) type).getActualTypeArguments()[0];
-        String className = actualTypeArgument.getTypeName();
+    private void multicastOrdered(Object key, ApplicationListener<?>[] listeners, ApplicationEvent event) {
+        int asyncCount = 0;
+        for (ApplicationListener<?> listener : listeners) {
+            if (isAsync(listener)) {
+                asyncCount++;
+            } else {
+                invokeListener(listener, event);
+            }
+        }
+        if (asyncCount == 0) {
+            return;
+        }
+        ApplicationListener<?>[] asyncListeners = new ApplicationListener<?>[asyncCount];
+        int i = 0;
+        for (ApplicationListener<?> listener : listeners) {
+            if (isAsync(listener)) {
+                asyncListeners[i++] = listener;
+            }
+        }
+        submit(key, () -> {
+            for (ApplicationListener<?> listener : asyncListeners) {
+                invokeAsyncListener(listener, event);
+            }
+        });
+    }
 
-        Class<?> eventClassName;
+    private boolean isAsync(ApplicationListener<?> listener) {
+        if (taskExecutor == null) {
+            return false;
+        }
+        if (listener instanceof AsyncCapableApplicationListener) {
+            return ((AsyncCapableApplicationListener<?>) listener).isAsync();
+        }
+        return true;
+    }
+
+    private void submit(Object key, Runnable delivery) {
+        boolean full = pendingTasks.incrementAndGet() > queueCapacity;
+        // 有 key 的投递不能在发布线程中直接执行，否则会与该 key 队列中尚未执行的投递乱序
+        boolean keyedCallerRuns = full && key != null && rejectionPolicy == RejectionPolicy.CALLER_RUNS;
+        if (full && !keyedCallerRuns) {
+            pendingTasks.decrementAndGet();
+            switch (rejectionPolicy) {
+                case CALLER_RUNS -> delivery.run();
+                case DISCARD -> {
+                }
+                default -> throw new RejectedExecutionException("Event delivery queue is full (capacity " + queueCapacity + ")");
+            }
+            return;
+        }
+
+        Runnable task = () -> {
+            try {
+                delivery.run();
+            } finally {
+                pendingTasks.decrementAndGet();
+            }
+        };
+        if (keyedCallerRuns) {
+            keyedExecutor.execute(key, task, true);
+            return;
+        }
         try {
-            eventClassName = Class.forName(className);
-        } catch (ClassNotFoundException e) {
-            throw new BeansException("wrong event class name: " + className);
+            if (key != null) {
+                keyedExecutor.execute(key, task);
+            } else {
+                taskExecutor.execute(task);
+            }
+        } catch (RuntimeException e) {
+            pendingTasks.decrementAndGet();
+            throw e;
         }
+    }
 
-        return eventClassName.isAssignableFrom(event.getClass());
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        super.removeApplicationListener(listener);
+        EventDispatchMetrics metrics = this.dispatchMetrics;
+        if (metrics != null) {
+            metrics.removeListener(listener);
+        }
+    }
+
+    @Override
+    protected void onListenerCollected(ApplicationListener<?> registration) {
+        EventDispatchMetrics metrics = this.dispatchMetrics;
+        if (metrics != null) {
+            metrics.removeListener(registration);
+            metrics.recordCollectedListener();
+        }
+    }
+
+    /**
+     * 异步调用监听器，未设置 ErrorHandler 时异常交给 {@link LoggingErrorHandler}，不会抛到线程池中
+     */
+    private void invokeAsyncListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        try {
+            invokeListener(listener, event);
+        } catch (RuntimeException | Error e) {
+            LoggingErrorHandler.INSTANCE.handleError(e);
+        }
+    }
+
+    /**
+     * 调用监听器，设置了 ErrorHandler 时由它处理监听器抛出的异常；设置了统计时记录调用耗时
+     */
+    @SuppressWarnings("unchecked")
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        EventDispatchMetrics metrics = this.dispatchMetrics;
+        long start = metrics != null ? System.nanoTime() : 0L;
+        try {
+            ((ApplicationListener<ApplicationEvent>) listener).onApplicationEvent(event);
+            if (metrics != null) {
+                metrics.recordDelivery(listener, event, System.nanoTime() - start, false);
+            }
+        } catch (RuntimeException | Error e) {
+            if (metrics != null) {
+                metrics.recordDelivery(listener, event, System.nanoTime() - start, true);
+            }
+            if (errorHandler == null) {
+                throw e;
+            }
+            errorHandler.handleError(e);
+        }
+    }
+
+    public Executor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * 设置异步投递事件的线程池，为 null 时（默认）所有监听器都同步调用
+     */
+    public void setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+        this.keyedExecutor = taskExecutor != null ? new KeyedSerialExecutor(taskExecutor) : null;
+    }
+
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * 设置事件 key 的解析方式，返回 null 表示事件不需要保证顺序
+     */
+    public void setEventKeyResolver(Function<ApplicationEvent, Object> eventKeyResolver) {
+        this.eventKeyResolver = eventKeyResolver;
+    }
+
+    /**
+     * 设置最多允许多少个尚未执行完的异步投递，默认不限制
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    public EventDispatchMetrics getDispatchMetrics() {
+        return dispatchMetrics;
+    }
+
+    /**
+     * 设置事件分发统计，为 null 时（默认）不统计
+     */
+    public void setDispatchMetrics(EventDispatchMetrics dispatchMetrics) {
+        this.dispatchMetrics = dispatchMetrics;
+    }
+
+    /**
+     * @return 已提交但尚未执行完的异步投递数量
+     */
+    public int getPendingTaskCount() {
+        return pendingTasks.get();
     }
 }
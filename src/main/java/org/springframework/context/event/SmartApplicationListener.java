@@ -0,0 +1,20 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * 自行声明支持哪些事件类型的监听器，用于无法从泛型参数解析出事件类型的监听器，
+ * 例如 {@link EventListener} 方法对应的监听器
+ *
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public interface SmartApplicationListener extends ApplicationListener<ApplicationEvent> {
+
+    /**
+     * @param eventType 发布的事件类型
+     * @return 是否处理该类型的事件
+     */
+    boolean supportsEventType(Class<? extends ApplicationEvent> eventType);
+}
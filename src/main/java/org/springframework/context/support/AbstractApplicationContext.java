@@ -11,12 +11,17 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventDispatchMetrics;
+import org.springframework.context.event.EventListenerMethodProcessor;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.io.DefaultResourceLoader;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * 抽象的应用上下文基类，为具体的 ApplicationContext 实现（如 ClassPathXmlApplicationContext）提供通用模板方法实现。
@@ -38,8 +43,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     public static final String CONVERSION_SERVICE_BEAN_NAME = "conversionService";
 
+    public static final String BOOTSTRAP_EXECUTOR_BEAN_NAME = "bootstrapExecutor";
+
+    public static final String EVENT_DISPATCH_METRICS_BEAN_NAME = "eventDispatchMetrics";
+
     private ApplicationEventMulticaster applicationEventMulticaster;
 
+    private EventDispatchMetrics eventDispatchMetrics;
+
+    // 事件广播器初始化之前注册的监听器
+    private final List<ApplicationListener<?>> earlyApplicationListeners = new ArrayList<>();
+
     @Override
     public void refresh() throws BeansException {
         // 创建 BeanFactory，并加载 BeanDefinition
@@ -49,6 +63,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         // 添加 ApplicationContextAwareProcessor，让继承自 ApplicationContextAware 的 bean 能感知 bean
         beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
 
+        // 添加 EventListenerMethodProcessor，将 bean 中带有 @EventListener 注解的方法注册为监听器
+        beanFactory.addBeanPostProcessor(new EventListenerMethodProcessor(this, beanFactory));
+
         // 在 bean 实例化之前，执行 BeanFactoryPostProcessor
         invokeBeanFactoryPostProcessors(beanFactory);
 
@@ -75,6 +92,13 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
                 beanFactory.setConversionService((ConversionService) bean);
             }
         }
+        // 定义了名为 bootstrapExecutor 的线程池时，并行预实例化单例 bean
+        if (beanFactory.containsBean(BOOTSTRAP_EXECUTOR_BEAN_NAME)) {
+            Object bean = beanFactory.getBean(BOOTSTRAP_EXECUTOR_BEAN_NAME);
+            if (bean instanceof Executor) {
+                beanFactory.setBootstrapExecutor((Executor) bean);
+            }
+        }
         // 提前实例化单例 bean
         beanFactory.preInstantiateSingletons();
     }
@@ -85,24 +109,62 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
     }
 
     /**
-     * 初始化事件发布者
+     * 初始化事件发布者。定义了名为 applicationEventMulticaster 的 bean 时使用该 bean，
+     * 否则使用 {@link SimpleApplicationEventMulticaster}
      */
     protected void initApplicationEventMulticaster() {
         ConfigurableListableBeanFactory beanFactory = getBeanFactory();
-        applicationEventMulticaster = new SimpleApplicationEventMulticaster(beanFactory);
-        beanFactory.addSingleton(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, applicationEventMulticaster);
+        if (beanFactory.containsBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+            applicationEventMulticaster = (ApplicationEventMulticaster) beanFactory.getBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME);
+        } else {
+            applicationEventMulticaster = new SimpleApplicationEventMulticaster(beanFactory);
+            beanFactory.addSingleton(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, applicationEventMulticaster);
+        }
+        // 定义了名为 eventDispatchMetrics 的 bean 时，统计事件分发
+        if (beanFactory.containsBean(EVENT_DISPATCH_METRICS_BEAN_NAME)
+                && applicationEventMulticaster instanceof SimpleApplicationEventMulticaster multicaster) {
+            Object bean = beanFactory.getBean(EVENT_DISPATCH_METRICS_BEAN_NAME);
+            if (bean instanceof EventDispatchMetrics) {
+                eventDispatchMetrics = (EventDispatchMetrics) bean;
+                multicaster.setDispatchMetrics(eventDispatchMetrics);
+            }
+        }
+    }
+
+    /**
+     * @return 事件分发统计，没有启用时返回 null
+     */
+    public EventDispatchMetrics getEventDispatchMetrics() {
+        return eventDispatchMetrics;
     }
 
     /**
      * 注册事件监听器
      */
     protected void registerListeners() {
+        synchronized (earlyApplicationListeners) {
+            for (ApplicationListener<?> applicationListener : earlyApplicationListeners) {
+                applicationEventMulticaster.addApplicationListener(applicationListener);
+            }
+            earlyApplicationListeners.clear();
+        }
         Collection<?> applicationListeners = getBeansOfType(ApplicationListener.class).values();
         for (Object applicationListener : applicationListeners) {
             applicationEventMulticaster.addApplicationListener((ApplicationListener<?>) applicationListener);
         }
     }
 
+    @Override
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        synchronized (earlyApplicationListeners) {
+            if (applicationEventMulticaster == null) {
+                earlyApplicationListeners.add(listener);
+                return;
+            }
+        }
+        applicationEventMulticaster.addApplicationListener(listener);
+    }
+
     /**
      * 发布容器刷新完成事件
      */
@@ -114,6 +176,11 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         applicationEventMulticaster.multicastEvent(event);
     }
 
+    @Override
+    public void publishEvents(Collection<? extends ApplicationEvent> events) {
+        applicationEventMulticaster.multicastEvents(events);
+    }
+
     @Override
     public void close() throws BeansException {
         doClose();
@@ -138,6 +205,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     protected void destroyBeans() {
         getBeanFactory().destroySingletons();
+        getBeanFactory().clearMetadataCache();
     }
 
     /**
@@ -174,6 +242,11 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         return getBeanFactory().getBeanDefinitionNames();
     }
 
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        return getBeanFactory().getBeanNamesForType(type);
+    }
+
     /**
      * 创建 BeanFactory，并加载 BeanDefinition
      *
@@ -190,6 +263,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         Map<String, BeanFactoryPostProcessor> beanFactoryPostProcessorMap = beanFactory.getBeansOfType(BeanFactoryPostProcessor.class);
         for (BeanFactoryPostProcessor processor : beanFactoryPostProcessorMap.values()) {
             processor.postProcessBeanFactory(beanFactory);
+            // BeanFactoryPostProcessor 可能修改了 BeanDefinition 的类型，后续按类型查找需要看到修改后的类型
+            beanFactory.clearMetadataCache();
         }
     }
 
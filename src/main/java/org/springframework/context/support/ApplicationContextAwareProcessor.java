@@ -65,4 +65,9 @@ public class ApplicationContextAwareProcessor implements BeanPostProcessor {
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
         return bean;
     }
+
+    @Override
+    public boolean supportsBeanType(Class<?> beanType) {
+        return ApplicationContextAware.class.isAssignableFrom(beanType);
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.core.convert.*;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code GenericConversionService} 是 Spring 框架中通用的类型转换服务实现，
@@ -24,7 +25,23 @@ import java.util.*;
  */
 public class GenericConversionService implements ConversionService, ConverterRegistry {
 
-    private final Map<GenericConverter.ConvertiblePair, GenericConverter> converters = new HashMap<>();
+    // 没有可用转换器时缓存的占位对象
+    private static final GenericConverter NO_MATCH = new GenericConverter() {
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Object convert(Object source, Class<?> sourceType, Class<?> targetType) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final Map<GenericConverter.ConvertiblePair, GenericConverter> converters = new ConcurrentHashMap<>();
+
+    // sourceType -> targetType -> 转换器（或 NO_MATCH），注册新的转换器时整体替换
+    private volatile Map<Class<?>, Map<Class<?>, GenericConverter>> converterCache = new ConcurrentHashMap<>();
 
     @Override
     public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
@@ -38,6 +55,9 @@ public class GenericConversionService implements ConversionService, ConverterReg
         Class<?> sourceType = source.getClass();
         targetType = (Class<T>) BasicType.wrap(targetType);
         GenericConverter converter = getConverter(sourceType, targetType);
+        if (converter == null) {
+            throw new IllegalArgumentException("No converter found capable of converting from " + sourceType.getName() + " to " + targetType.getName());
+        }
         Object result = converter.convert(source, sourceType, targetType);
         if (!targetType.isInstance(result)) {
             throw new ClassCastException("Cannot cast " + result + " to " + targetType);
@@ -53,6 +73,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         for (GenericConverter.ConvertiblePair pair : convertibleTypes) {
             converters.put(pair, converterAdapter);
         }
+        invalidateCache();
     }
 
     @Override
@@ -63,6 +84,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         for (GenericConverter.ConvertiblePair convertibleType : convertibleTypes) {
             converters.put(convertibleType, converterFactoryAdapter);
         }
+        invalidateCache();
     }
 
     @Override
@@ -71,19 +93,52 @@ public class GenericConversionService implements ConversionService, ConverterReg
         for (GenericConverter.ConvertiblePair convertibleType : convertibleTypes) {
             converters.put(convertibleType, converter);
         }
+        invalidateCache();
     }
 
+    private void invalidateCache() {
+        this.converterCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 类型的继承结构：类本身、父类，然后是所有接口（广度优先），Object 放在最后
+     */
     private List<Class<?>> getClassHierarchy(Class<?> clazz) {
-        List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+        List<Class<?>> hierarchy = new ArrayList<>();
         clazz = BasicType.wrap(clazz);
-        while (clazz != null) {
-            hierarchy.add(clazz);
-            clazz = clazz.getSuperclass();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(current);
+        }
+        for (int i = 0; i < hierarchy.size(); i++) {
+            for (Class<?> ifc : hierarchy.get(i).getInterfaces()) {
+                if (!hierarchy.contains(ifc)) {
+                    hierarchy.add(ifc);
+                }
+            }
         }
+        hierarchy.add(Object.class);
         return hierarchy;
     }
 
+    /**
+     * 查找转换器，结果（包括找不到的情况）按 (sourceType, targetType) 缓存，命中缓存时不会分配对象
+     */
     protected GenericConverter getConverter(Class<?> sourceType, Class<?> targetType) {
+        Map<Class<?>, Map<Class<?>, GenericConverter>> cache = this.converterCache;
+        Map<Class<?>, GenericConverter> convertersForSource = cache.get(sourceType);
+        if (convertersForSource == null) {
+            convertersForSource = cache.computeIfAbsent(sourceType, key -> new ConcurrentHashMap<>());
+        }
+        GenericConverter converter = convertersForSource.get(targetType);
+        if (converter == null) {
+            converter = findConverter(sourceType, targetType);
+            convertersForSource.put(targetType, converter != null ? converter : NO_MATCH);
+            return converter;
+        }
+        return converter != NO_MATCH ? converter : null;
+    }
+
+    private GenericConverter findConverter(Class<?> sourceType, Class<?> targetType) {
         List<Class<?>> sourceCandidates = getClassHierarchy(sourceType);
         List<Class<?>> targetCandidates = getClassHierarchy(targetType);
         for (Class<?> sourceCandidate : sourceCandidates) {
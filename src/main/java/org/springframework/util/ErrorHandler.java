@@ -0,0 +1,20 @@
+package org.springframework.util;
+
+/**
+ * 处理异步任务或回调中抛出的异常的策略接口。
+ * <p>
+ * 例如事件广播器在监听器抛出异常时交给它处理，从而不影响其他监听器继续接收事件。
+ *
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+@FunctionalInterface
+public interface ErrorHandler {
+
+    /**
+     * 处理给定的异常
+     *
+     * @param t 抛出的异常
+     */
+    void handleError(Throwable t);
+}
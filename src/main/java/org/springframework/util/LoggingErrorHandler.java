@@ -0,0 +1,35 @@
+package org.springframework.util;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 只记录日志的 {@link ErrorHandler}，异常不会继续抛出。
+ * <p>
+ * 用于异步任务的默认处理：异步执行的任务抛出的异常没有调用方可以接收，直接抛出只会被线程池吞掉或打断执行线程。
+ *
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class LoggingErrorHandler implements ErrorHandler {
+
+    /**
+     * 共享的默认实例
+     */
+    public static final LoggingErrorHandler INSTANCE = new LoggingErrorHandler();
+
+    private final Logger logger;
+
+    public LoggingErrorHandler() {
+        this(Logger.getLogger(LoggingErrorHandler.class.getName()));
+    }
+
+    public LoggingErrorHandler(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void handleError(Throwable t) {
+        logger.log(Level.SEVERE, "Unexpected error occurred in asynchronous task", t);
+    }
+}
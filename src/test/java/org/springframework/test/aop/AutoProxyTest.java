@@ -1,8 +1,17 @@
 package org.springframework.test.aop;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.bean.Car;
+import org.springframework.test.common.WorldServiceBeforeAdvice;
 import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -16,6 +25,7 @@ public class AutoProxyTest {
         worldServiceOne.explode();
         WorldService worldServiceTwo = applicationContext.getBean("worldService", WorldService.class);
         assertThat(worldServiceOne == worldServiceTwo).isTrue();
+        assertThat(worldServiceOne.getClass()).isNotSameAs(WorldServiceImpl.class);
     }
 
     @Test
@@ -27,4 +37,56 @@ public class AutoProxyTest {
         worldService.explode();
         assertThat(worldService.getName()).isEqualTo("earth");
     }
+
+    @Test
+    public void testWrapExistingBeanWithMultipleAdvisors() throws Exception {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:multiple-advisors.xml");
+
+        // 代理包装的是已经填充好属性的 bean
+        WorldService worldService = applicationContext.getBean("worldService", WorldService.class);
+        assertThat(worldService.getClass()).isNotSameAs(WorldServiceImpl.class);
+        worldService.explode();
+        assertThat(worldService.getName()).isEqualTo("earth");
+
+        InterceptorChainTest.CountingInterceptor tracingInterceptor = applicationContext.getBean("tracingInterceptor", InterceptorChainTest.CountingInterceptor.class);
+        InterceptorChainTest.CountingInterceptor metricsInterceptor = applicationContext.getBean("metricsInterceptor", InterceptorChainTest.CountingInterceptor.class);
+        assertThat(tracingInterceptor.getCount()).isEqualTo(2);
+        assertThat(metricsInterceptor.getCount()).isEqualTo(1);
+
+        // car 上没有 explode 方法，只应用 tracingAdvisor
+        Car car = applicationContext.getBean("car", Car.class);
+        assertThat(car.getClass()).isNotSameAs(Car.class);
+        car.getBrand();
+        assertThat(tracingInterceptor.getCount()).isEqualTo(3);
+        assertThat(metricsInterceptor.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAdvisorCacheAndEligibility() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("beforeAdvice", new BeanDefinition(WorldServiceBeforeAdvice.class));
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(beanFactory);
+
+        // 没有切面时不代理
+        WorldServiceImpl worldService = new WorldServiceImpl();
+        assertThat(autoProxyCreator.postProcessAfterInitialization(worldService, "worldService")).isSameAs(worldService);
+
+        // 新增切面后缓存失效，类型上没有方法能匹配的 bean 不代理
+        beanFactory.registerBeanDefinition("advisor", advisorDefinition("execution(* org.springframework.test..*.explode(..))"));
+        Object proxy = autoProxyCreator.postProcessAfterInitialization(worldService, "worldService");
+        assertThat(proxy).isNotSameAs(worldService);
+        Car car = new Car();
+        assertThat(autoProxyCreator.postProcessAfterInitialization(car, "car")).isSameAs(car);
+
+        beanFactory.registerBeanDefinition("carAdvisor", advisorDefinition("execution(* org.springframework.test.bean.Car.*(..))"));
+        assertThat(autoProxyCreator.postProcessAfterInitialization(car, "car")).isNotSameAs(car);
+    }
+
+    private static BeanDefinition advisorDefinition(String expression) {
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("expression", expression));
+        propertyValues.addPropertyValue(new PropertyValue("advice", new BeanReference("beforeAdvice")));
+        return new BeanDefinition(org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor.class, propertyValues);
+    }
 }
@@ -0,0 +1,94 @@
+package org.springframework.test.aop;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.CglibAopProxy;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/28
+ */
+public class CglibProxyClassCacheTest {
+
+    private static final String EXPLODE = "execution(* org.springframework.test.service.WorldService.explode(..))";
+
+    private static final String GET_NAME = "execution(* org.springframework.test.service.WorldService.getName(..))";
+
+    @Test
+    public void testProxyClassSharedBySameShape() throws Exception {
+        AtomicInteger interceptCount = new AtomicInteger();
+        WorldService earth = (WorldService) new CglibAopProxy(advisedSupport(worldService("earth"), EXPLODE, interceptCount)).getProxy();
+        WorldService mars = (WorldService) new CglibAopProxy(advisedSupport(worldService("mars"), EXPLODE, interceptCount)).getProxy();
+        WorldService venus = (WorldService) new CglibAopProxy(advisedSupport(worldService("venus"), GET_NAME, interceptCount)).getProxy();
+
+        // 需要拦截的方法相同时共享代理类，否则生成新的代理类
+        assertThat(earth.getClass()).isSameAs(mars.getClass());
+        assertThat(venus.getClass()).isNotSameAs(earth.getClass());
+
+        // 共享代理类的代理对象各自调用自己的目标对象，未拦截的方法不经过拦截器
+        assertThat(earth.getName()).isEqualTo("earth");
+        assertThat(mars.getName()).isEqualTo("mars");
+        assertThat(interceptCount.get()).isZero();
+        earth.explode();
+        mars.explode();
+        assertThat(interceptCount.get()).isEqualTo(2);
+        assertThat(venus.getName()).isEqualTo("venus");
+        assertThat(interceptCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testProxyCreatedWithoutConstructor() throws Exception {
+        CountingConstructorService target = new CountingConstructorService("earth");
+        assertThat(CountingConstructorService.CONSTRUCTED.get()).isEqualTo(1);
+
+        AtomicInteger interceptCount = new AtomicInteger();
+        CountingConstructorService proxy = (CountingConstructorService) new CglibAopProxy(
+                advisedSupport(target, "execution(* org.springframework.test.aop.CglibProxyClassCacheTest.CountingConstructorService.getName(..))", interceptCount)).getProxy();
+
+        // 目标类没有无参构造器也能代理，且代理对象的创建不执行构造器
+        assertThat(CountingConstructorService.CONSTRUCTED.get()).isEqualTo(1);
+        assertThat(proxy.getName()).isEqualTo("earth");
+        assertThat(interceptCount.get()).isEqualTo(1);
+    }
+
+    private static WorldServiceImpl worldService(String name) {
+        WorldServiceImpl worldService = new WorldServiceImpl();
+        worldService.setName(name);
+        return worldService;
+    }
+
+    private static AdvisedSupport advisedSupport(Object target, String expression, AtomicInteger interceptCount) {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(target));
+        advisedSupport.setMethodInterceptor(invocation -> {
+            interceptCount.incrementAndGet();
+            return invocation.proceed();
+        });
+        advisedSupport.setMethodMatcher(new AspectJExpressionPointcut(expression).getMethodMatcher());
+        return advisedSupport;
+    }
+
+    public static class CountingConstructorService {
+
+        static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+        private final String name;
+
+        public CountingConstructorService(String name) {
+            this.name = name;
+            CONSTRUCTED.incrementAndGet();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.springframework.test.aop;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.MethodBeforeAdvice;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.CglibAopProxy;
+import org.springframework.aop.framework.JdkDynamicAopProxy;
+import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/28
+ */
+public class InterceptorChainTest {
+
+    @Test
+    public void testMultipleAdvisors() throws Exception {
+        List<String> calls = new ArrayList<>();
+        WorldServiceImpl worldService = new WorldServiceImpl();
+        worldService.setName("earth");
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(worldService));
+        advisedSupport.addAdvisor(advisor("execution(* org.springframework.test.service.WorldService.*(..))", new RecordingInterceptor("tracing", calls)));
+        advisedSupport.addAdvisor(advisor("execution(* org.springframework.test.service.WorldService.explode(..))", new RecordingInterceptor("metrics", calls)));
+        advisedSupport.addAdvisor(advisor("execution(* org.springframework.test.service.WorldService.explode(..))",
+                (MethodBeforeAdvice) (method, args, target) -> calls.add("before")));
+
+        WorldService jdkProxy = (WorldService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        WorldService cglibProxy = (WorldService) new CglibAopProxy(advisedSupport).getProxy();
+        for (WorldService proxy : new WorldService[]{jdkProxy, cglibProxy}) {
+            calls.clear();
+            proxy.explode();
+            assertThat(calls).containsExactly("tracing:enter", "metrics:enter", "before", "metrics:exit", "tracing:exit");
+
+            calls.clear();
+            assertThat(proxy.getName()).isEqualTo("earth");
+            assertThat(calls).containsExactly("tracing:enter", "tracing:exit");
+        }
+
+        // 拦截器链在创建代理时计算好，之后返回同一个数组
+        Method explode = WorldService.class.getMethod("explode");
+        assertThat(advisedSupport.getInterceptors(explode, WorldServiceImpl.class))
+                .hasSize(3)
+                .isSameAs(advisedSupport.getInterceptors(explode, WorldServiceImpl.class));
+    }
+
+    @Test
+    public void testAutoProxyWithMultipleAdvisors() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("worldService", new BeanDefinition(WorldServiceImpl.class));
+        beanFactory.registerBeanDefinition("tracingInterceptor", new BeanDefinition(CountingInterceptor.class));
+        beanFactory.registerBeanDefinition("metricsInterceptor", new BeanDefinition(CountingInterceptor.class));
+        beanFactory.registerBeanDefinition("tracingAdvisor",
+                advisorDefinition("execution(* org.springframework.test.service.WorldService.*(..))", "tracingInterceptor"));
+        beanFactory.registerBeanDefinition("metricsAdvisor",
+                advisorDefinition("execution(* org.springframework.test.service.WorldService.explode(..))", "metricsInterceptor"));
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(beanFactory);
+
+        WorldService worldService = (WorldService) autoProxyCreator.postProcessAfterInitialization(new WorldServiceImpl(), "worldService");
+        worldService.explode();
+        worldService.getName();
+
+        // 两个切面都生效
+        CountingInterceptor tracingInterceptor = beanFactory.getBean("tracingInterceptor", CountingInterceptor.class);
+        CountingInterceptor metricsInterceptor = beanFactory.getBean("metricsInterceptor", CountingInterceptor.class);
+        assertThat(tracingInterceptor.getCount()).isEqualTo(2);
+        assertThat(metricsInterceptor.getCount()).isEqualTo(1);
+    }
+
+    private static BeanDefinition advisorDefinition(String expression, String adviceBeanName) {
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("expression", expression));
+        propertyValues.addPropertyValue(new PropertyValue("advice", new BeanReference(adviceBeanName)));
+        return new BeanDefinition(AspectJExpressionPointcutAdvisor.class, propertyValues);
+    }
+
+    private static AspectJExpressionPointcutAdvisor advisor(String expression, Advice advice) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(expression);
+        advisor.setAdvice(advice);
+        return advisor;
+    }
+
+    private static class RecordingInterceptor implements MethodInterceptor {
+
+        private final String name;
+
+        private final List<String> calls;
+
+        RecordingInterceptor(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            calls.add(name + ":enter");
+            try {
+                return invocation.proceed();
+            } finally {
+                calls.add(name + ":exit");
+            }
+        }
+    }
+
+    public static class CountingInterceptor implements MethodInterceptor {
+
+        private int count;
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            count++;
+            return invocation.proceed();
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
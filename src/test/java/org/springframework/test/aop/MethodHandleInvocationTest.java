@@ -0,0 +1,188 @@
+package org.springframework.test.aop;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.JdkDynamicAopProxy;
+import org.springframework.aop.framework.ReflectiveMethodInvocation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/28
+ */
+public class MethodHandleInvocationTest {
+
+    @Test
+    public void testJdkProxyInvokesTarget() throws Exception {
+        AtomicInteger interceptCount = new AtomicInteger();
+        CalculatorImpl target = new CalculatorImpl();
+        Calculator proxy = (Calculator) new JdkDynamicAopProxy(advisedSupport(target,
+                "execution(* org.springframework.test.aop.MethodHandleInvocationTest.Calculator.add(..))", interceptCount)).getProxy();
+
+        // 代理类定义在目标对象的类加载器中
+        assertThat(proxy.getClass().getClassLoader()).isSameAs(target.getClass().getClassLoader());
+
+        // 基本类型参数、返回值以及无参、void 方法，参数较多时展开参数数组
+        assertThat(proxy.add(1, 2)).isEqualTo(3);
+        assertThat(proxy.sum(1, 2L, (short) 3, 4.5)).isEqualTo(10.5);
+        assertThat(interceptCount.get()).isEqualTo(1);
+        assertThat(proxy.concat("earth", 3)).isEqualTo("earth3");
+        proxy.reset();
+        assertThat(target.resetCount).isEqualTo(1);
+        assertThat(proxy.toString()).isEqualTo(target.toString());
+        assertThat(interceptCount.get()).isEqualTo(1);
+
+        // 可变参数：最后一个参数按数组原样传递
+        assertThat(proxy.join("a", "b", "c")).isEqualTo("abc");
+        assertThat(proxy.join()).isEmpty();
+        assertThat(proxy.total(1, 2, 3)).isEqualTo(6);
+        assertThat(proxy.format("%s-%s-%s-%s", "a", 1, 2L, 'c', 4.0)).isEqualTo("%s-%s-%s-%s:5");
+    }
+
+    @Test
+    public void testExceptionThrownAsIs() throws Exception {
+        AtomicInteger interceptCount = new AtomicInteger();
+        Calculator proxy = (Calculator) new JdkDynamicAopProxy(advisedSupport(new CalculatorImpl(),
+                "execution(* org.springframework.test.aop.MethodHandleInvocationTest.Calculator.divide(..))", interceptCount)).getProxy();
+
+        // 经过拦截器链和不经过拦截器链时，目标方法的异常都不会被包装
+        assertThatThrownBy(() -> proxy.divide(1, 0)).isExactlyInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> proxy.load("missing")).isExactlyInstanceOf(IOException.class).hasMessage("missing");
+        assertThat(interceptCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTargetInvokedWithoutReflection() throws Exception {
+        AtomicInteger interceptCount = new AtomicInteger();
+        StackRecordingCalculator target = new StackRecordingCalculator();
+        Calculator proxy = (Calculator) new JdkDynamicAopProxy(advisedSupport(target,
+                "execution(* org.springframework.test.aop.MethodHandleInvocationTest.Calculator.add(..))", interceptCount)).getProxy();
+
+        // 需要拦截的方法经过拦截器链，不需要拦截的方法跳过拦截器链，两者都通过 MethodHandle 调用目标方法
+        assertThat(proxy.add(1, 2)).isEqualTo(3);
+        assertThat(target.frames).contains(ReflectiveMethodInvocation.class).doesNotContain(Method.class);
+        assertThat(proxy.concat("earth", 3)).isEqualTo("earth3");
+        assertThat(target.frames).doesNotContain(ReflectiveMethodInvocation.class, Method.class);
+        assertThat(interceptCount.get()).isEqualTo(1);
+    }
+
+    private static AdvisedSupport advisedSupport(Object target, String expression, AtomicInteger interceptCount) {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(target));
+        advisedSupport.setMethodInterceptor(invocation -> {
+            interceptCount.incrementAndGet();
+            return invocation.proceed();
+        });
+        advisedSupport.setMethodMatcher(new AspectJExpressionPointcut(expression).getMethodMatcher());
+        return advisedSupport;
+    }
+
+    public interface Calculator {
+
+        int add(int a, int b);
+
+        int divide(int a, int b);
+
+        String concat(String prefix, long suffix);
+
+        double sum(int a, long b, short c, double d);
+
+        void reset();
+
+        String load(String name) throws IOException;
+
+        String join(String... parts);
+
+        int total(int first, int... rest);
+
+        String format(String pattern, String first, int second, long third, char fourth, Object... rest);
+    }
+
+    public static class CalculatorImpl implements Calculator {
+
+        private int resetCount;
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public int divide(int a, int b) {
+            return a / b;
+        }
+
+        @Override
+        public String concat(String prefix, long suffix) {
+            return prefix + suffix;
+        }
+
+        @Override
+        public double sum(int a, long b, short c, double d) {
+            return a + b + c + d;
+        }
+
+        @Override
+        public void reset() {
+            resetCount++;
+        }
+
+        @Override
+        public String load(String name) throws IOException {
+            throw new IOException(name);
+        }
+
+        @Override
+        public String join(String... parts) {
+            return String.join("", parts);
+        }
+
+        @Override
+        public int total(int first, int... rest) {
+            int total = first;
+            for (int value : rest) {
+                total += value;
+            }
+            return total;
+        }
+
+        @Override
+        public String format(String pattern, String first, int second, long third, char fourth, Object... rest) {
+            return pattern + ":" + (4 + rest.length);
+        }
+    }
+
+    // 重新声明接口：JDK 代理只使用目标类直接实现的接口
+    public static class StackRecordingCalculator extends CalculatorImpl implements Calculator {
+
+        private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+        // 最近一次调用时调用栈上的类
+        private List<Class<?>> frames;
+
+        @Override
+        public int add(int a, int b) {
+            frames = recordFrames();
+            return super.add(a, b);
+        }
+
+        @Override
+        public String concat(String prefix, long suffix) {
+            frames = recordFrames();
+            return super.concat(prefix, suffix);
+        }
+
+        private static List<Class<?>> recordFrames() {
+            return STACK_WALKER.walk(frames -> frames.<Class<?>>map(StackWalker.StackFrame::getDeclaringClass).toList());
+        }
+    }
+}
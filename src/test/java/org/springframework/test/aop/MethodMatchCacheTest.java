@@ -0,0 +1,115 @@
+package org.springframework.test.aop;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.CglibAopProxy;
+import org.springframework.aop.framework.JdkDynamicAopProxy;
+import org.springframework.aop.framework.ReflectiveMethodInvocation;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/28
+ */
+public class MethodMatchCacheTest {
+
+    private static final String EXPRESSION = "execution(* org.springframework.test.service.WorldService.explode(..))";
+
+    @Test
+    public void testMatchResultCachedPerMethod() throws Exception {
+        AtomicInteger matchCount = new AtomicInteger();
+        AtomicInteger interceptCount = new AtomicInteger();
+        AdvisedSupport advisedSupport = advisedSupport(matchCount, interceptCount);
+
+        WorldService jdkProxy = (WorldService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        WorldService cglibProxy = (WorldService) new CglibAopProxy(advisedSupport).getProxy();
+        // 创建代理时已经完成匹配，两种代理的 Method 对象分别来自接口和实现类
+        int preparedMatchCount = matchCount.get();
+        assertThat(preparedMatchCount).isGreaterThanOrEqualTo(4);
+        for (int i = 0; i < 100; i++) {
+            jdkProxy.getName();
+            cglibProxy.getName();
+        }
+        jdkProxy.explode();
+        cglibProxy.explode();
+
+        // 调用时不再匹配
+        assertThat(matchCount.get()).isEqualTo(preparedMatchCount);
+        assertThat(interceptCount.get()).isEqualTo(2);
+
+        // 修改方法匹配器后重新匹配
+        advisedSupport.setMethodMatcher(countingMatcher("execution(* org.springframework.test.service.WorldService.getName(..))", matchCount));
+        jdkProxy.getName();
+        assertThat(interceptCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testUnadvisedMethodSkipsInterceptorChain() throws Exception {
+        AtomicInteger matchCount = new AtomicInteger();
+        AtomicInteger interceptCount = new AtomicInteger();
+        CallerRecordingWorldService target = new CallerRecordingWorldService();
+        target.setName("earth");
+        AdvisedSupport advisedSupport = advisedSupport(matchCount, interceptCount);
+        advisedSupport.setTargetSource(new TargetSource(target));
+        WorldService jdkProxy = (WorldService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        WorldService cglibProxy = (WorldService) new CglibAopProxy(advisedSupport).getProxy();
+        int preparedMatchCount = matchCount.get();
+
+        // 不需要拦截的方法不创建 MethodInvocation，CGLIB 代理类直接调用目标对象
+        assertThat(jdkProxy.getName()).isEqualTo("earth");
+        assertThat(target.throughInvocation).isFalse();
+        assertThat(cglibProxy.getName()).isEqualTo("earth");
+        assertThat(target.throughInvocation).isFalse();
+        assertThat(target.caller).isSameAs(cglibProxy.getClass());
+        assertThat(interceptCount.get()).isZero();
+        assertThat(matchCount.get()).isEqualTo(preparedMatchCount);
+    }
+
+    private static AdvisedSupport advisedSupport(AtomicInteger matchCount, AtomicInteger interceptCount) {
+        WorldServiceImpl worldService = new WorldServiceImpl();
+        worldService.setName("earth");
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(worldService));
+        advisedSupport.setMethodInterceptor(invocation -> {
+            interceptCount.incrementAndGet();
+            return invocation.proceed();
+        });
+        advisedSupport.setMethodMatcher(countingMatcher(EXPRESSION, matchCount));
+        return advisedSupport;
+    }
+
+    private static MethodMatcher countingMatcher(String expression, AtomicInteger matchCount) {
+        MethodMatcher methodMatcher = new AspectJExpressionPointcut(expression).getMethodMatcher();
+        return (Method method, Class<?> targetClass) -> {
+            matchCount.incrementAndGet();
+            return methodMatcher.matches(method, targetClass);
+        };
+    }
+
+    // 重新声明接口：JDK 代理只使用目标类直接实现的接口
+    public static class CallerRecordingWorldService extends WorldServiceImpl implements WorldService {
+
+        private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+        // 调用 getName 的类，以及调用是否经过拦截器链
+        private Class<?> caller;
+
+        private boolean throughInvocation;
+
+        @Override
+        public String getName() {
+            caller = STACK_WALKER.getCallerClass();
+            throughInvocation = STACK_WALKER.walk(frames -> frames.anyMatch(frame -> frame.getDeclaringClass() == ReflectiveMethodInvocation.class));
+            return super.getName();
+        }
+    }
+}
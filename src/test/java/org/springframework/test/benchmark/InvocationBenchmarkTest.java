@@ -0,0 +1,121 @@
+package org.springframework.test.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.CglibAopProxy;
+import org.springframework.aop.framework.JdkDynamicAopProxy;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
+import org.springframework.test.aop.MethodHandleInvocationTest.Calculator;
+import org.springframework.test.aop.MethodHandleInvocationTest.CalculatorImpl;
+import org.springframework.test.bean.Car;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+/**
+ * 实例化和代理调用与直接调用的耗时对比，只输出结果不做断言。
+ * <p>
+ * 默认不执行，需要时通过 {@code mvn test -Dtest=InvocationBenchmarkTest -Dbenchmark=true} 手动运行
+ *
+ * @author zhenghong
+ * @date 2025/6/28
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true", disabledReason = "耗时对比需要手动运行，设置 -Dbenchmark=true 启用")
+public class InvocationBenchmarkTest {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    public void testInstantiationComparedWithReflection() throws Exception {
+        SimpleInstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
+        BeanDefinition carDefinition = new BeanDefinition(Car.class);
+        for (int i = 0; i < ITERATIONS; i++) {
+            instantiationStrategy.instantiate(carDefinition);
+            Car.class.getDeclaredConstructor().newInstance();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            instantiationStrategy.instantiate(carDefinition);
+        }
+        long supplierNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Car.class.getDeclaredConstructor().newInstance();
+        }
+        long reflectionNanos = System.nanoTime() - start;
+        System.out.println("supplier: " + supplierNanos / ITERATIONS + " ns/op, reflection: " + reflectionNanos / ITERATIONS + " ns/op");
+    }
+
+    @Test
+    public void testUnadvisedProxyCallComparedWithRawCall() throws Exception {
+        WorldServiceImpl raw = new WorldServiceImpl();
+        raw.setName("earth");
+        AdvisedSupport advisedSupport = advisedSupport(raw, "execution(* org.springframework.test.service.WorldService.explode(..))");
+        WorldService jdkProxy = (WorldService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        WorldService cglibProxy = (WorldService) new CglibAopProxy(advisedSupport).getProxy();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            raw.getName();
+            jdkProxy.getName();
+            cglibProxy.getName();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            raw.getName();
+        }
+        long rawNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdkProxy.getName();
+        }
+        long jdkNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            cglibProxy.getName();
+        }
+        long cglibNanos = System.nanoTime() - start;
+        System.out.println("unadvised method - raw: " + rawNanos / ITERATIONS + " ns/op, jdk proxy: " + jdkNanos / ITERATIONS
+                + " ns/op, cglib proxy: " + cglibNanos / ITERATIONS + " ns/op");
+    }
+
+    @Test
+    public void testJdkProxyCallComparedWithRawCall() throws Exception {
+        CalculatorImpl raw = new CalculatorImpl();
+        Calculator proxy = (Calculator) new JdkDynamicAopProxy(advisedSupport(raw,
+                "execution(* org.springframework.test.aop.MethodHandleInvocationTest.Calculator.add(..))")).getProxy();
+
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum += raw.add(i, 1) + proxy.add(i, 1) + proxy.concat("", 1).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum += raw.add(i, 1);
+        }
+        long rawNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum += proxy.add(i, 1);
+        }
+        long advisedNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum += proxy.concat("", 1).length();
+        }
+        long unadvisedNanos = System.nanoTime() - start;
+        System.out.println("jdk proxy - raw: " + rawNanos / ITERATIONS + " ns/op, advised: " + advisedNanos / ITERATIONS
+                + " ns/op, unadvised: " + unadvisedNanos / ITERATIONS + " ns/op (" + sum + ")");
+    }
+
+    private static AdvisedSupport advisedSupport(Object target, String expression) {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(target));
+        advisedSupport.setMethodInterceptor(invocation -> invocation.proceed());
+        advisedSupport.setMethodMatcher(new AspectJExpressionPointcut(expression).getMethodMatcher());
+        return advisedSupport;
+    }
+}
@@ -0,0 +1,36 @@
+package org.springframework.test.common.event;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class AnnotatedEventListener {
+
+    private final List<String> received = new ArrayList<>();
+
+    @EventListener
+    public void onRefreshed(ContextRefreshedEvent event) {
+        received.add("refreshed");
+    }
+
+    @EventListener
+    public String onCustomEvent(CustomEvent event) {
+        received.add("custom");
+        return "ignored";
+    }
+
+    @EventListener
+    private void onPrivateCustomEvent(CustomEvent event) {
+        received.add("private custom");
+    }
+
+    public List<String> getReceived() {
+        return received;
+    }
+}
@@ -0,0 +1,73 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class ApplicationListenerRetrievalTest {
+
+    @Test
+    public void testListenerRetrieval() throws Exception {
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        List<String> received = new ArrayList<>();
+        // 通过泛型父类声明事件类型
+        multicaster.addApplicationListener(new RecordingListener<CustomEvent>(received, "custom") {
+        });
+        multicaster.addApplicationListener(new ClosedEventListener(received));
+        AllEventsListener allEventsListener = new AllEventsListener(received);
+        multicaster.addApplicationListener(allEventsListener);
+
+        multicaster.multicastEvent(new CustomEvent(this));
+        multicaster.multicastEvent(new ContextClosedEvent(this));
+        assertThat(received).containsExactly("custom", "all", "closed", "all");
+
+        // 移除监听器后缓存失效
+        received.clear();
+        multicaster.removeApplicationListener(allEventsListener);
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThat(received).containsExactly("custom");
+    }
+
+    static class RecordingListener<E extends ApplicationEvent> implements ApplicationListener<E> {
+
+        private final List<String> received;
+
+        private final String name;
+
+        RecordingListener(List<String> received, String name) {
+            this.received = received;
+            this.name = name;
+        }
+
+        @Override
+        public void onApplicationEvent(E event) {
+            received.add(name);
+        }
+    }
+
+    static class ClosedEventListener extends RecordingListener<ContextClosedEvent> {
+
+        ClosedEventListener(List<String> received) {
+            super(received, "closed");
+        }
+    }
+
+    static class AllEventsListener extends RecordingListener<ApplicationEvent> {
+
+        AllEventsListener(List<String> received) {
+            super(received, "all");
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AsyncCapableApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.test.common.event.CustomEvent;
+import org.springframework.util.LoggingErrorHandler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class AsyncEventMulticastTest {
+
+    @Test
+    public void testAsyncAndSyncListeners() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        multicaster.setTaskExecutor(executor);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch asyncDone = new CountDownLatch(1);
+        List<Thread> syncThreads = new CopyOnWriteArrayList<>();
+        multicaster.addApplicationListener((ApplicationListener<CustomEvent>) event -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            asyncDone.countDown();
+        });
+        multicaster.addApplicationListener(new AsyncCapableApplicationListener<CustomEvent>() {
+            @Override
+            public boolean isAsync() {
+                return false;
+            }
+
+            @Override
+            public void onApplicationEvent(CustomEvent event) {
+                syncThreads.add(Thread.currentThread());
+            }
+        });
+
+        // 慢监听器异步执行，不阻塞发布事件的线程
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThat(syncThreads).containsExactly(Thread.currentThread());
+        release.countDown();
+        assertThat(asyncDone.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testOrderedDeliveryAndErrorHandler() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        multicaster.setTaskExecutor(executor);
+        multicaster.setEventKeyResolver(event -> event instanceof SequenceEvent ? ((SequenceEvent) event).key : null);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        multicaster.setErrorHandler(errors::add);
+
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+            throw new IllegalStateException("listener failed");
+        });
+        multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+            received.add(event.sequence);
+            done.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, "order-1", i));
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        // 相同 key 的事件按发布顺序投递，前一个监听器的异常不影响后一个监听器
+        for (int i = 0; i < 100; i++) {
+            assertThat(received.get(i)).isEqualTo(i);
+        }
+        assertThat(errors).hasSize(100);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testBoundedQueue() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        multicaster.setTaskExecutor(executor);
+        multicaster.setQueueCapacity(1);
+        multicaster.setRejectionPolicy(SimpleApplicationEventMulticaster.RejectionPolicy.ABORT);
+
+        CountDownLatch release = new CountDownLatch(1);
+        multicaster.addApplicationListener((ApplicationListener<CustomEvent>) event -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThatThrownBy(() -> multicaster.multicastEvent(new CustomEvent(this)))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        // 调用方执行策略下，超出容量的投递在发布线程中执行
+        multicaster.setRejectionPolicy(SimpleApplicationEventMulticaster.RejectionPolicy.CALLER_RUNS);
+        release.countDown();
+        multicaster.multicastEvent(new CustomEvent(this));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(multicaster.getPendingTaskCount()).isZero();
+    }
+
+    @Test
+    public void testKeyedCallerRunsKeepsOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        multicaster.setTaskExecutor(executor);
+        multicaster.setQueueCapacity(2);
+        multicaster.setEventKeyResolver(event -> event instanceof SequenceEvent ? ((SequenceEvent) event).key : null);
+
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(200);
+        multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+            if (event.sequence % 50 == 0) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(event.sequence);
+            done.countDown();
+        });
+
+        // 超出容量的投递在发布线程中执行时，仍然不会越过同一 key 尚未执行的投递
+        for (int i = 0; i < 200; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, "order-1", i));
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 200; i++) {
+            assertThat(received.get(i)).isEqualTo(i);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(multicaster.getPendingTaskCount()).isZero();
+    }
+
+    @Test
+    public void testRejectedScheduleDoesNotBlockKey() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean reject = new AtomicBoolean(true);
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        multicaster.setTaskExecutor(command -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("rejected");
+            }
+            executor.execute(command);
+        });
+        multicaster.setEventKeyResolver(event -> event instanceof SequenceEvent ? ((SequenceEvent) event).key : null);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> received.add(event.sequence));
+
+        // 线程池拒绝时在发布线程中投递，key 不会一直处于占用状态
+        multicaster.multicastEvent(new SequenceEvent(this, "order-1", 0));
+        assertThat(received).containsExactly(0);
+        reject.set(false);
+        multicaster.multicastEvent(new SequenceEvent(this, "order-1", 1));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(0, 1);
+        assertThat(multicaster.getPendingTaskCount()).isZero();
+    }
+
+    @Test
+    public void testAsyncErrorsLoggedByDefault() throws Exception {
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(LoggingErrorHandler.class.getName());
+        logger.addHandler(handler);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+            multicaster.setTaskExecutor(executor);
+            multicaster.addApplicationListener((ApplicationListener<CustomEvent>) event -> {
+                throw new IllegalStateException("listener failed");
+            });
+
+            multicaster.multicastEvent(new CustomEvent(this));
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            // 未设置 ErrorHandler 时，异步监听器的异常记录到日志中
+            assertThat(records).hasSize(1);
+            assertThat(records.get(0).getThrown()).hasMessage("listener failed");
+        } finally {
+            logger.removeHandler(handler);
+        }
+    }
+
+    static class SequenceEvent extends ApplicationEvent {
+
+        final String key;
+
+        final int sequence;
+
+        SequenceEvent(Object source, String key, int sequence) {
+            super(source);
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+}
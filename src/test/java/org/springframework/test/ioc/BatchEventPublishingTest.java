@@ -0,0 +1,198 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationEventBatch;
+import org.springframework.context.event.CoalescingApplicationEventPublisher;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class BatchEventPublishingTest {
+
+    @Test
+    public void testMulticastEvents() throws Exception {
+        AtomicInteger matchCount = new AtomicInteger();
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null) {
+            @Override
+            protected boolean supportsEvent(ApplicationListener<?> listener, ApplicationEvent event) {
+                matchCount.incrementAndGet();
+                return super.supportsEvent(listener, event);
+            }
+        };
+        List<ApplicationEvent> received = new ArrayList<>();
+        // lambda 无法解析泛型参数，这里使用匿名类
+        multicaster.addApplicationListener(new ApplicationListener<CustomEvent>() {
+            @Override
+            public void onApplicationEvent(CustomEvent event) {
+                received.add(event);
+            }
+        });
+        multicaster.addApplicationListener(new ApplicationListener<TickEvent>() {
+            @Override
+            public void onApplicationEvent(TickEvent event) {
+                received.add(event);
+            }
+        });
+
+        List<ApplicationEvent> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(i % 2 == 0 ? new CustomEvent(this) : new TickEvent(this, "tick", i));
+        }
+        multicaster.multicastEvents(events);
+
+        // 两种事件类型各匹配一次，事件按顺序投递
+        assertThat(matchCount.get()).isEqualTo(4);
+        assertThat(received).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    public void testCoalescingPublisher() throws Exception {
+        RecordingPublisher delegate = new RecordingPublisher();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CoalescingApplicationEventPublisher publisher = new CoalescingApplicationEventPublisher(delegate, scheduler, 50);
+        publisher.setKeyResolver(event -> event instanceof TickEvent ? ((TickEvent) event).key : null);
+        publisher.setMergeFunction((previous, current) ->
+                new TickEvent(this, ((TickEvent) current).key, ((TickEvent) previous).value + ((TickEvent) current).value));
+
+        CustomEvent unkeyed = new CustomEvent(this);
+        publisher.publishEvent(unkeyed);
+        for (int i = 1; i <= 4; i++) {
+            publisher.publishEvent(new TickEvent(this, "a", i));
+            publisher.publishEvent(new TickEvent(this, "b", 10 * i));
+        }
+        // 没有 key 的事件立即发布，其余事件等待窗口结束
+        assertThat(delegate.published).containsExactly(unkeyed);
+        assertThat(publisher.getPendingEventCount()).isEqualTo(8);
+
+        assertThat(delegate.batchPublished.await(5, TimeUnit.SECONDS)).isTrue();
+        List<ApplicationEvent> coalesced = delegate.published.subList(1, delegate.published.size());
+        assertThat(coalesced).hasSize(2);
+        assertThat(((TickEvent) coalesced.get(0)).key).isEqualTo("a");
+        assertThat(((TickEvent) coalesced.get(0)).value).isEqualTo(10);
+        assertThat(((TickEvent) coalesced.get(1)).value).isEqualTo(100);
+        assertThat(publisher.getPendingEventCount()).isZero();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testBatchDelivery() throws Exception {
+        RecordingPublisher delegate = new RecordingPublisher();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CoalescingApplicationEventPublisher publisher = new CoalescingApplicationEventPublisher(delegate, scheduler, 10_000);
+        publisher.setBatchDelivery(true);
+
+        TickEvent first = new TickEvent(this, "a", 1);
+        TickEvent second = new TickEvent(this, "a", 2);
+        publisher.publishEvent(first);
+        publisher.publishEvent(second);
+        // 销毁时发布窗口内剩余的事件
+        publisher.destroy();
+
+        assertThat(delegate.published).hasSize(1);
+        ApplicationEventBatch batch = (ApplicationEventBatch) delegate.published.get(0);
+        assertThat(batch.getKey()).isEqualTo(TickEvent.class);
+        assertThat(batch.getEvents()).containsExactly(first, second);
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testManualFlushCancelsScheduledFlush() throws Exception {
+        RecordingPublisher delegate = new RecordingPublisher();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        CoalescingApplicationEventPublisher publisher = new CoalescingApplicationEventPublisher(delegate, scheduler, 200);
+
+        publisher.publishEvent(new TickEvent(this, "a", 1));
+        assertThat(scheduler.getQueue()).hasSize(1);
+        publisher.flush();
+        // 手动发布后取消当前窗口的定时任务
+        assertThat(scheduler.getQueue()).isEmpty();
+        assertThat(delegate.published).hasSize(1);
+
+        // 之后的事件开始新的完整窗口，不会被上一个窗口提前发布
+        TickEvent next = new TickEvent(this, "a", 2);
+        publisher.publishEvent(next);
+        assertThat(scheduler.getQueue()).hasSize(1);
+        Thread.sleep(50);
+        assertThat(delegate.published).hasSize(1);
+        assertThat(publisher.getPendingEventCount()).isEqualTo(1);
+        publisher.destroy();
+        assertThat(delegate.published).hasSize(2).endsWith(next);
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testScheduledFlushFailureHandled() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CoalescingApplicationEventPublisher publisher = new CoalescingApplicationEventPublisher(new RecordingPublisher() {
+            @Override
+            public void publishEvents(Collection<? extends ApplicationEvent> events) {
+                throw new IllegalStateException("listener failed");
+            }
+        }, scheduler, 10);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        publisher.setErrorHandler(error -> {
+            errors.add(error);
+            handled.countDown();
+        });
+
+        // 定时发布的异常交给 ErrorHandler，而不是在调度器中被吞掉
+        publisher.publishEvent(new TickEvent(this, "a", 1));
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).hasMessage("listener failed");
+        assertThat(publisher.getPendingEventCount()).isZero();
+        scheduler.shutdown();
+    }
+
+    static class TickEvent extends ApplicationEvent {
+
+        final String key;
+
+        final int value;
+
+        TickEvent(Object source, String key, int value) {
+            super(source);
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    static class RecordingPublisher implements ApplicationEventPublisher {
+
+        final List<ApplicationEvent> published = new CopyOnWriteArrayList<>();
+
+        final CountDownLatch batchPublished = new CountDownLatch(1);
+
+        @Override
+        public void publishEvent(ApplicationEvent event) {
+            published.add(event);
+        }
+
+        @Override
+        public void publishEvents(Collection<? extends ApplicationEvent> events) {
+            published.addAll(events);
+            batchPublished.countDown();
+        }
+    }
+}
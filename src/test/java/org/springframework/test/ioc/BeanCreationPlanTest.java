@@ -0,0 +1,110 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.bean.Car;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+public class BeanCreationPlanTest {
+
+    @Test
+    public void testCreationPlanInvalidation() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("brand", "porsche"));
+        BeanDefinition beanDefinition = new BeanDefinition(Car.class, propertyValues);
+        beanDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("car", beanDefinition);
+
+        Car car = (Car) beanFactory.getBean("car");
+        assertThat(car.getBrand()).isEqualTo("porsche");
+        assertThat(beanFactory.getBean("car")).isNotSameAs(car);
+
+        // 修改属性值后重新编译创建计划
+        propertyValues.addPropertyValue(new PropertyValue("brand", "lamborghini"));
+        assertThat(((Car) beanFactory.getBean("car")).getBrand()).isEqualTo("lamborghini");
+
+        // 新注册的 BeanPostProcessor 对之后创建的 bean 生效
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                ((Car) bean).setPrice(1000000);
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                return bean;
+            }
+        });
+        assertThat(((Car) beanFactory.getBean("car")).getPrice()).isEqualTo(1000000);
+
+        // 覆盖注册 BeanDefinition 后使用新的定义
+        PropertyValues newPropertyValues = new PropertyValues();
+        newPropertyValues.addPropertyValue(new PropertyValue("brand", "ferrari"));
+        BeanDefinition newBeanDefinition = new BeanDefinition(Car.class, newPropertyValues);
+        newBeanDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("car", newBeanDefinition);
+        assertThat(((Car) beanFactory.getBean("car")).getBrand()).isEqualTo("ferrari");
+    }
+
+    @Test
+    public void testBeanFactoryPostProcessorAfterCreation() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(Engine.class, new PropertyValues());
+        beanDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("engine", beanDefinition);
+
+        Engine engine = (Engine) beanFactory.getBean("engine");
+        assertThat(engine.getModel()).isNull();
+        assertThat(engine.isStarted()).isFalse();
+
+        // 只修改 init-method 不会使创建计划失效，需要清除元数据缓存
+        BeanFactoryPostProcessor initMethodPostProcessor = factory -> factory.getBeanDefinition("engine").setInitMethodName("start");
+        initMethodPostProcessor.postProcessBeanFactory(beanFactory);
+        beanFactory.clearMetadataCache();
+        assertThat(((Engine) beanFactory.getBean("engine")).isStarted()).isTrue();
+
+        BeanFactoryPostProcessor propertyPostProcessor = factory -> factory.getBeanDefinition("engine")
+                .getPropertyValues().addPropertyValue(new PropertyValue("model", "V12"));
+        propertyPostProcessor.postProcessBeanFactory(beanFactory);
+        beanFactory.clearMetadataCache();
+        engine = (Engine) beanFactory.getBean("engine");
+        assertThat(engine.getModel()).isEqualTo("V12");
+        assertThat(engine.isStarted()).isTrue();
+    }
+
+    public static class Engine {
+
+        private String model;
+
+        private boolean started;
+
+        public String getModel() {
+            return model;
+        }
+
+        public void setModel(String model) {
+            this.model = model;
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+
+        public void start() {
+            this.started = true;
+        }
+    }
+}
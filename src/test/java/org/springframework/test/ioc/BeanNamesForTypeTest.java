@@ -0,0 +1,60 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.bean.Car;
+import org.springframework.test.service.HelloService;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/23
+ */
+public class BeanNamesForTypeTest {
+
+    @Test
+    public void testTypeIndex() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("worldService", new BeanDefinition(WorldServiceImpl.class));
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        beanFactory.registerBeanDefinition("anotherCar", new BeanDefinition(Car.class));
+
+        // 接口、实现类、Object 都能查到
+        assertThat(beanFactory.getBeanNamesForType(WorldService.class)).containsExactly("worldService");
+        assertThat(beanFactory.getBeanNamesForType(WorldServiceImpl.class)).containsExactly("worldService");
+        assertThat(beanFactory.getBeanNamesForType(Car.class)).containsExactly("car", "anotherCar");
+        assertThat(beanFactory.getBeanNamesForType(Object.class)).containsExactly("worldService", "car", "anotherCar");
+        assertThat(beanFactory.getBeanNamesForType(HelloService.class)).isEmpty();
+
+        assertThat(beanFactory.getBean(WorldService.class)).isInstanceOf(WorldServiceImpl.class);
+        assertThat(beanFactory.getBeansOfType(Car.class)).containsOnlyKeys("car", "anotherCar");
+
+        // 覆盖注册时旧类型从索引中移除
+        beanFactory.registerBeanDefinition("anotherCar", new BeanDefinition(HelloService.class));
+        assertThat(beanFactory.getBeanNamesForType(Car.class)).containsExactly("car");
+        assertThat(beanFactory.getBeanNamesForType(HelloService.class)).containsExactly("anotherCar");
+    }
+
+    @Test
+    public void testTypeIndexAfterBeanClassChanged() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        beanFactory.registerBeanDefinition("service", new BeanDefinition(Car.class));
+
+        // 模拟 BeanFactoryPostProcessor 修改 BeanDefinition 的类型
+        BeanFactoryPostProcessor postProcessor = factory -> factory.getBeanDefinition("service").setBeanClass(WorldServiceImpl.class);
+        postProcessor.postProcessBeanFactory(beanFactory);
+        beanFactory.clearMetadataCache();
+
+        assertThat(beanFactory.getBeanNamesForType(Car.class)).containsExactly("car");
+        assertThat(beanFactory.getBeanNamesForType(WorldService.class)).containsExactly("service");
+        // 新旧类型共有的父类型中保持注册顺序
+        assertThat(beanFactory.getBeanNamesForType(Object.class)).containsExactly("car", "service");
+        assertThat(beanFactory.getBean(WorldService.class)).isInstanceOf(WorldServiceImpl.class);
+    }
+}
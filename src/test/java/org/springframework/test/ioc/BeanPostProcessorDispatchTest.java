@@ -0,0 +1,96 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.bean.Car;
+import org.springframework.test.bean.Person;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class BeanPostProcessorDispatchTest {
+
+    @Test
+    public void testSupportsBeanType() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        beanFactory.registerBeanDefinition("person", new BeanDefinition(Person.class));
+        CarPostProcessor carPostProcessor = new CarPostProcessor();
+        beanFactory.addBeanPostProcessor(carPostProcessor);
+
+        beanFactory.getBean("car");
+        beanFactory.getBean("person");
+        // 只作用于 Car 的后处理器不会被 person 调用
+        assertThat(carPostProcessor.invocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testAddBeanPostProcessorConcurrently() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(Car.class);
+        beanDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("car", beanDefinition);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    beanFactory.getBean("car");
+                }
+            }));
+        }
+        List<CarPostProcessor> postProcessors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            CarPostProcessor postProcessor = new CarPostProcessor();
+            postProcessors.add(postProcessor);
+            beanFactory.addBeanPostProcessor(postProcessor);
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // 注册完成之后创建的 bean 经过所有后处理器
+        beanFactory.getBean("car");
+        for (CarPostProcessor postProcessor : postProcessors) {
+            assertThat(postProcessor.invocations.get()).isGreaterThanOrEqualTo(2);
+        }
+    }
+
+    static class CarPostProcessor implements BeanPostProcessor {
+
+        final AtomicInteger invocations = new AtomicInteger();
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            invocations.incrementAndGet();
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            invocations.incrementAndGet();
+            return bean;
+        }
+
+        @Override
+        public boolean supportsBeanType(Class<?> beanType) {
+            return Car.class.isAssignableFrom(beanType);
+        }
+    }
+}
@@ -20,5 +20,7 @@ public class CircularReferenceWithProxyBeanTest {
         B b = applicationContext.getBean("b", B.class);
 
         assertThat(b.getA() == a).isTrue();
+        // 注入给 b 的是提前创建的代理
+        assertThat(a.getClass()).isNotSameAs(A.class);
     }
 }
@@ -0,0 +1,96 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.bean.A;
+import org.springframework.test.bean.B;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/23
+ */
+public class ConcurrentSingletonCreationTest {
+
+    @Test
+    public void testConcurrentFirstRequestsCreateOnce() throws Exception {
+        SlowBean.INSTANCES.set(0);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("slowBean", new BeanDefinition(SlowBean.class));
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return beanFactory.getBean("slowBean");
+            }));
+        }
+        start.countDown();
+
+        Object first = futures.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<Object> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS) == first).isTrue();
+        }
+        assertThat(SlowBean.INSTANCES.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testCircularReferenceAcrossThreads() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        PropertyValues propertyValuesForA = new PropertyValues();
+        propertyValuesForA.addPropertyValue(new PropertyValue("b", new BeanReference("b")));
+        beanFactory.registerBeanDefinition("a", new BeanDefinition(A.class, propertyValuesForA));
+        PropertyValues propertyValuesForB = new PropertyValues();
+        propertyValuesForB.addPropertyValue(new PropertyValue("a", new BeanReference("a")));
+        beanFactory.registerBeanDefinition("b", new BeanDefinition(B.class, propertyValuesForB));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Object> getA = () -> {
+            start.await();
+            return beanFactory.getBean("a");
+        };
+        Callable<Object> getB = () -> {
+            start.await();
+            return beanFactory.getBean("b");
+        };
+        Future<Object> futureA = executor.submit(getA);
+        Future<Object> futureB = executor.submit(getB);
+        start.countDown();
+
+        A a = (A) futureA.get(10, TimeUnit.SECONDS);
+        B b = (B) futureB.get(10, TimeUnit.SECONDS);
+        assertThat(a.getB() == b).isTrue();
+        assertThat(b.getA() == a).isTrue();
+        executor.shutdown();
+    }
+
+    public static class SlowBean {
+
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public SlowBean() throws InterruptedException {
+            INSTANCES.incrementAndGet();
+            Thread.sleep(50);
+        }
+    }
+}
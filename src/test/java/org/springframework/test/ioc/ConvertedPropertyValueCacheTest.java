@@ -0,0 +1,73 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.convert.Converter;
+import org.springframework.core.convert.support.GenericConversionService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class ConvertedPropertyValueCacheTest {
+
+    @Test
+    public void testConvertedPropertyValueCache() throws Exception {
+        AtomicInteger integerConversions = new AtomicInteger();
+        AtomicInteger builderConversions = new AtomicInteger();
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(new Converter<String, Integer>() {
+            @Override
+            public Integer convert(String source) {
+                integerConversions.incrementAndGet();
+                return Integer.valueOf(source);
+            }
+        });
+        conversionService.addConverter(new Converter<String, StringBuilder>() {
+            @Override
+            public StringBuilder convert(String source) {
+                builderConversions.incrementAndGet();
+                return new StringBuilder(source);
+            }
+        });
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setConversionService(conversionService);
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("quantity", "3"));
+        propertyValues.addPropertyValue(new PropertyValue("note", "fragile"));
+        BeanDefinition beanDefinition = new BeanDefinition(Order.class, propertyValues);
+        beanDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("order", beanDefinition);
+
+        Order first = (Order) beanFactory.getBean("order");
+        Order second = (Order) beanFactory.getBean("order");
+        Order third = (Order) beanFactory.getBean("order");
+        assertThat(third.quantity).isEqualTo(3);
+        // 不可变的转换结果只转换一次
+        assertThat(integerConversions.get()).isEqualTo(1);
+        // 可变的转换结果每个实例单独转换，互不共享
+        assertThat(builderConversions.get()).isEqualTo(3);
+        assertThat(first.note).isNotSameAs(second.note);
+
+        // 关闭缓存后每次都重新转换
+        beanFactory.setCacheConvertedPropertyValues(false);
+        beanFactory.getBean("order");
+        beanFactory.getBean("order");
+        assertThat(integerConversions.get()).isEqualTo(3);
+    }
+
+    public static class Order {
+
+        private Integer quantity;
+
+        private StringBuilder note;
+    }
+}
@@ -0,0 +1,242 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.BridgingApplicationEventMulticaster;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.SerializationEventCodec;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.io.DataOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class EventBridgeTest {
+
+    @Test
+    public void testBridgeBetweenContexts() throws Exception {
+        ClassPathXmlApplicationContext nodeA = new ClassPathXmlApplicationContext("classpath:event-bridge-a.xml");
+        ClassPathXmlApplicationContext nodeB = new ClassPathXmlApplicationContext("classpath:event-bridge-b.xml");
+        BridgedEventListener listenerA = nodeA.getBean("bridgedEventListener", BridgedEventListener.class);
+        BridgedEventListener listenerB = nodeB.getBean("bridgedEventListener", BridgedEventListener.class);
+
+        for (int i = 0; i < 1000; i++) {
+            nodeA.publishEvent(new BridgedEvent(nodeA, "a-" + i));
+        }
+        nodeB.publishEvent(new BridgedEvent(nodeB, "b-0"));
+        // 没有声明转发的事件只在本地广播
+        nodeA.publishEvent(new CustomEvent(nodeA));
+
+        waitUntil(() -> listenerB.payloads.size() == 1001 && listenerA.payloads.size() == 1001);
+        // 对端的事件按发送顺序到达，且不会被再次转发回来
+        List<String> fromA = listenerB.payloads.stream().filter(p -> p.startsWith("a-")).toList();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(fromA.get(i)).isEqualTo("a-" + i);
+        }
+        assertThat(listenerA.payloads).filteredOn(p -> p.startsWith("a-")).hasSize(1000);
+        assertThat(listenerA.payloads).contains("b-0");
+
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    public void testLoopbackTcp() throws Exception {
+        SimpleApplicationEventMulticaster receiverDelegate = new SimpleApplicationEventMulticaster();
+        BridgedEventListener listener = new BridgedEventListener();
+        receiverDelegate.addApplicationListener(listener);
+        BridgingApplicationEventMulticaster receiver = new BridgingApplicationEventMulticaster(receiverDelegate);
+        receiver.setLocalAddress("tcp:127.0.0.1:0");
+        receiver.setForwardedEventTypes(new Class<?>[]{BridgedEvent.class});
+        receiver.start();
+        int port = ((InetSocketAddress) receiver.getBoundAddress()).getPort();
+
+        BridgingApplicationEventMulticaster sender = new BridgingApplicationEventMulticaster(new SimpleApplicationEventMulticaster());
+        sender.setPeerAddresses(new String[]{"tcp:127.0.0.1:" + port});
+        sender.setForwardedEventTypes(new Class<?>[]{BridgedEvent.class});
+        sender.start();
+        for (int i = 0; i < 5000; i++) {
+            sender.multicastEvent(new BridgedEvent(this, String.valueOf(i)));
+        }
+
+        waitUntil(() -> listener.payloads.size() == 5000);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(listener.payloads.get(i)).isEqualTo(String.valueOf(i));
+        }
+        assertThat(receiver.getReceivedCount()).isEqualTo(5000);
+        sender.destroy();
+        receiver.destroy();
+    }
+
+    @Test
+    public void testInvalidFrameClosesOnlyThatConnection() throws Exception {
+        SimpleApplicationEventMulticaster receiverDelegate = new SimpleApplicationEventMulticaster();
+        BridgedEventListener listener = new BridgedEventListener();
+        receiverDelegate.addApplicationListener(listener);
+        BridgingApplicationEventMulticaster receiver = new BridgingApplicationEventMulticaster(receiverDelegate);
+        receiver.setLocalAddress("tcp:127.0.0.1:0");
+        receiver.setMaxFrameSize(64 * 1024);
+        receiver.setForwardedEventTypes(new Class<?>[]{BridgedEvent.class, PayloadEvent.class});
+        receiver.start();
+        int port = ((InetSocketAddress) receiver.getBoundAddress()).getPort();
+        SerializationEventCodec codec = new SerializationEventCodec();
+
+        try (Socket negative = new Socket("127.0.0.1", port);
+             Socket oversized = new Socket("127.0.0.1", port);
+             Socket valid = new Socket("127.0.0.1", port)) {
+            // 非法的帧长度：连接被关闭，不会按声明的长度分配缓冲区
+            new DataOutputStream(negative.getOutputStream()).writeInt(-1);
+            new DataOutputStream(oversized.getOutputStream()).writeInt(Integer.MAX_VALUE);
+            waitUntil(() -> readsEof(negative));
+            waitUntil(() -> readsEof(oversized));
+
+            // 其他连接不受影响，白名单外的类型不会被反序列化，后续事件照常分发
+            DataOutputStream out = new DataOutputStream(valid.getOutputStream());
+            writeFrame(out, codec.encode(new PayloadEvent(this, new Date())));
+            writeFrame(out, codec.encode(new BridgedEvent(this, "valid")));
+            out.flush();
+            waitUntil(() -> listener.payloads.size() == 1);
+        }
+        assertThat(listener.payloads).containsExactly("valid");
+        assertThat(receiver.getReceivedCount()).isEqualTo(1);
+        receiver.destroy();
+    }
+
+    @Test
+    public void testReceiverRejectsEventTypesNotForwarded() throws Exception {
+        SimpleApplicationEventMulticaster receiverDelegate = new SimpleApplicationEventMulticaster();
+        List<ApplicationEvent> received = new CopyOnWriteArrayList<>();
+        receiverDelegate.addApplicationListener(new ApplicationListener<ApplicationEvent>() {
+            @Override
+            public void onApplicationEvent(ApplicationEvent event) {
+                received.add(event);
+            }
+        });
+        BridgingApplicationEventMulticaster receiver = new BridgingApplicationEventMulticaster(receiverDelegate);
+        receiver.setLocalAddress("tcp:127.0.0.1:0");
+        // 容器生命周期事件即使出现在转发类型中也不会被接收
+        receiver.setForwardedEventTypes(new Class<?>[]{BridgedEvent.class, CustomEvent.class, ContextClosedEvent.class});
+        receiver.start();
+        int port = ((InetSocketAddress) receiver.getBoundAddress()).getPort();
+        SerializationEventCodec codec = new SerializationEventCodec();
+
+        try (Socket peer = new Socket("127.0.0.1", port)) {
+            // 对端发送本端没有声明转发的类型，以及伪造的容器关闭事件
+            DataOutputStream out = new DataOutputStream(peer.getOutputStream());
+            writeFrame(out, codec.encode(new PayloadEvent(this, 42)));
+            writeFrame(out, codec.encode(new ContextClosedEvent(this)));
+            writeFrame(out, codec.encode(new BridgedEvent(this, "valid")));
+            out.flush();
+            waitUntil(() -> receiver.getRejectedCount() == 2 && received.size() == 1);
+        }
+        assertThat(received.get(0)).isInstanceOf(BridgedEvent.class);
+        assertThat(receiver.getReceivedCount()).isEqualTo(1);
+        receiver.destroy();
+    }
+
+    @Test
+    public void testCodecRejectsClassesOutsideAllowList() {
+        SerializationEventCodec codec = new SerializationEventCodec();
+        byte[] rejected = codec.encode(new PayloadEvent(this, new Date()));
+
+        // 白名单中的类型及其组成的集合可以反序列化
+        assertThat(((PayloadEvent) codec.decode(codec.encode(new PayloadEvent(this, 42)))).getPayload()).isEqualTo(42);
+        assertThat(((PayloadEvent) codec.decode(codec.encode(new PayloadEvent(this, new ArrayList<>(List.of("earth"))))))
+                .getPayload()).isEqualTo(List.of("earth"));
+        assertThatThrownBy(() -> codec.decode(rejected)).isInstanceOf(RuntimeException.class);
+
+        // 显式允许的类型可以反序列化
+        codec.setAllowedClasses(new Class<?>[]{Date.class});
+        assertThat(((PayloadEvent) codec.decode(rejected)).getPayload()).isInstanceOf(Date.class);
+    }
+
+    @Test
+    public void testNonLoopbackAddressRequiresOptIn() throws Exception {
+        BridgingApplicationEventMulticaster bridge = new BridgingApplicationEventMulticaster(new SimpleApplicationEventMulticaster());
+        bridge.setLocalAddress("tcp:0.0.0.0:0");
+        assertThatThrownBy(bridge::start).isInstanceOf(IllegalStateException.class);
+
+        bridge.setAllowNonLoopbackAddress(true);
+        bridge.start();
+        assertThat(((InetSocketAddress) bridge.getBoundAddress()).getAddress().isAnyLocalAddress()).isTrue();
+        bridge.destroy();
+    }
+
+    private static void writeFrame(DataOutputStream out, byte[] data) throws Exception {
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static boolean readsEof(Socket socket) {
+        try {
+            socket.setSoTimeout(50);
+            return socket.getInputStream().read() == -1;
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    public static class BridgedEvent extends ApplicationEvent {
+
+        private final String payload;
+
+        public BridgedEvent(Object source, String payload) {
+            super(source);
+            this.payload = payload;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+    }
+
+    public static class PayloadEvent extends ApplicationEvent {
+
+        private final Object payload;
+
+        public PayloadEvent(Object source, Object payload) {
+            super(source);
+            this.payload = payload;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+    }
+
+    public static class BridgedEventListener implements ApplicationListener<BridgedEvent> {
+
+        private final List<String> payloads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(BridgedEvent event) {
+            payloads.add(event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventDispatchMetrics;
+import org.springframework.context.event.ListenerStatistics;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.CustomEvent;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class EventDispatchMetricsTest {
+
+    @Test
+    public void testDispatchMetrics() throws Exception {
+        EventDispatchMetrics metrics = new EventDispatchMetrics();
+        metrics.setSlowListenerThresholdMillis(20);
+        List<ApplicationListener<?>> slowListeners = new CopyOnWriteArrayList<>();
+        metrics.setSlowListenerHandler((listener, event, elapsedNanos) -> slowListeners.add(listener));
+
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        multicaster.setDispatchMetrics(metrics);
+        multicaster.setErrorHandler(e -> {
+        });
+        ApplicationListener<CustomEvent> fastListener = new ApplicationListener<CustomEvent>() {
+            @Override
+            public void onApplicationEvent(CustomEvent event) {
+            }
+        };
+        ApplicationListener<CustomEvent> slowListener = new ApplicationListener<CustomEvent>() {
+            @Override
+            public void onApplicationEvent(CustomEvent event) {
+                try {
+                    Thread.sleep(30);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("slow and failing");
+            }
+        };
+        multicaster.addApplicationListener(fastListener);
+        multicaster.addApplicationListener(slowListener);
+
+        for (int i = 0; i < 3; i++) {
+            multicaster.multicastEvent(new CustomEvent(this));
+        }
+        multicaster.multicastEvent(new UnobservedEvent(this));
+
+        assertThat(metrics.getPublishCount(CustomEvent.class)).isEqualTo(3);
+        assertThat(metrics.getDeliveryCount(CustomEvent.class)).isEqualTo(6);
+        assertThat(metrics.getPublishCount(UnobservedEvent.class)).isEqualTo(1);
+        assertThat(metrics.getDeliveryCount(UnobservedEvent.class)).isZero();
+
+        ListenerStatistics fast = metrics.getListenerStatistics(fastListener);
+        assertThat(fast.getInvocationCount()).isEqualTo(3);
+        assertThat(fast.getSlowInvocationCount()).isZero();
+        ListenerStatistics slow = metrics.getListenerStatistics(slowListener);
+        System.out.println(slow);
+        assertThat(slow.getInvocationCount()).isEqualTo(3);
+        assertThat(slow.getFailureCount()).isEqualTo(3);
+        assertThat(slow.getSlowInvocationCount()).isEqualTo(3);
+        assertThat(slow.getMedianNanos()).isGreaterThanOrEqualTo(30_000_000L);
+        assertThat(slow.getMaxNanos()).isLessThanOrEqualTo(slow.getP99Nanos());
+        assertThat(slowListeners).containsExactly(slowListener, slowListener, slowListener);
+
+        // 注销监听器后不再保留它的统计
+        multicaster.removeApplicationListener(slowListener);
+        assertThat(metrics.getListenerStatistics(slowListener)).isNull();
+    }
+
+    @Test
+    public void testMetricsFromContextAndJmx() throws Exception {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:event-dispatch-metrics.xml");
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+
+        EventDispatchMetrics metrics = applicationContext.getEventDispatchMetrics();
+        assertThat(metrics).isSameAs(applicationContext.getBean("eventDispatchMetrics"));
+        assertThat(metrics.getPublishCount(CustomEvent.class)).isEqualTo(2);
+        assertThat(metrics.getDeliveryCount(CustomEvent.class)).isEqualTo(2);
+        assertThat(metrics.getPublishCount(ContextRefreshedEvent.class)).isEqualTo(1);
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.springframework.test:type=EventDispatchMetrics");
+        TabularData publishCounts = (TabularData) mBeanServer.getAttribute(name, "PublishCounts");
+        assertThat(publishCounts.get(new Object[]{CustomEvent.class.getName()}).get("value")).isEqualTo(2L);
+
+        // 关闭容器时注销 MBean
+        applicationContext.close();
+        assertThat(mBeanServer.isRegistered(name)).isFalse();
+    }
+
+    static class UnobservedEvent extends ApplicationEvent {
+
+        UnobservedEvent(Object source) {
+            super(source);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.EventJournal;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class EventJournalTest {
+
+    @Test
+    public void testSegmentRollingAndRetention() throws Exception {
+        Path directory = Files.createTempDirectory("event-journal");
+        EventJournal journal = new EventJournal();
+        journal.setDirectory(directory.toString());
+        journal.setSegmentSize(1024);
+        journal.setMaxSegments(3);
+        journal.setSyncEveryRecords(16);
+        journal.open();
+        // 每条记录占 108 字节，每个段文件可以放 9 条
+        for (int i = 0; i < 100; i++) {
+            journal.append(record(i));
+        }
+        assertThat(journal.getSegmentCount()).isEqualTo(3);
+
+        List<String> replayed = new ArrayList<>();
+        journal.replay(data -> replayed.add(new String(data, StandardCharsets.UTF_8).trim()));
+        // 只保留最后 3 个段文件中的 19 + 9 + 1 条记录
+        assertThat(replayed).hasSize(19);
+        assertThat(replayed.get(replayed.size() - 1)).isEqualTo("record-99");
+        journal.destroy();
+
+        // 模拟写到一半时崩溃：最后一条记录的长度已写入但数据和校验和不完整
+        Path last;
+        try (Stream<Path> files = Files.list(directory)) {
+            last = files.max(Comparator.naturalOrder()).get();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            file.seek(108);
+            file.writeInt(100);
+        }
+
+        // 重新打开后丢弃未写完的记录，从最后一条完整记录之后继续写入
+        EventJournal reopened = new EventJournal();
+        reopened.setDirectory(directory.toString());
+        reopened.setSegmentSize(1024);
+        reopened.open();
+        reopened.append(record(100));
+        List<String> afterRestart = new ArrayList<>();
+        reopened.replay(data -> afterRestart.add(new String(data, StandardCharsets.UTF_8).trim()));
+        assertThat(afterRestart).hasSize(20);
+        assertThat(afterRestart.subList(18, 20)).containsExactly("record-99", "record-100");
+        reopened.destroy();
+    }
+
+    @Test
+    public void testReplayOutsideLock() throws Exception {
+        Path directory = Files.createTempDirectory("event-journal");
+        EventJournal journal = new EventJournal(directory.toString());
+        for (int i = 0; i < 10; i++) {
+            journal.append(record(i));
+        }
+
+        // 回调不持有日志的锁，其他线程可以继续追加；重放只读取开始时已经写入的记录
+        List<String> replayed = new ArrayList<>();
+        journal.replay(data -> {
+            replayed.add(new String(data, StandardCharsets.UTF_8).trim());
+            Thread writer = new Thread(() -> {
+                try {
+                    journal.append(record(100 + replayed.size()));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            writer.start();
+            try {
+                writer.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertThat(writer.isAlive()).isFalse();
+        });
+        assertThat(replayed).hasSize(10);
+
+        List<String> again = new ArrayList<>();
+        journal.replay(data -> again.add(new String(data, StandardCharsets.UTF_8).trim()));
+        assertThat(again).hasSize(20);
+        assertThat(again.get(19)).isEqualTo("record-110");
+        journal.destroy();
+    }
+
+    @Test
+    public void testReplayOnRefresh() throws Exception {
+        deleteRecursively(Paths.get("target/event-journal-test").toFile());
+
+        ClassPathXmlApplicationContext first = new ClassPathXmlApplicationContext("classpath:journaling-event-multicaster.xml");
+        for (int i = 0; i < 500; i++) {
+            first.publishEvent(new OrderEvent(first, "order-" + i));
+        }
+        // 没有声明需要持久化的事件不写入日志
+        first.publishEvent(new CustomEvent(first));
+        assertThat(first.getBean("orderEventListener", OrderEventListener.class).orderIds).hasSize(500);
+        first.close();
+
+        // 重启后刷新容器时重放日志中的事件
+        ClassPathXmlApplicationContext second = new ClassPathXmlApplicationContext("classpath:journaling-event-multicaster.xml");
+        List<String> orderIds = second.getBean("orderEventListener", OrderEventListener.class).orderIds;
+        assertThat(orderIds).hasSize(500);
+        assertThat(orderIds.get(0)).isEqualTo("order-0");
+        assertThat(orderIds.get(499)).isEqualTo("order-499");
+        second.close();
+    }
+
+    private static byte[] record(int i) {
+        return String.format("%-100s", "record-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    public static class OrderEvent extends ApplicationEvent {
+
+        private final String orderId;
+
+        public OrderEvent(Object source, String orderId) {
+            super(source);
+            this.orderId = orderId;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+    }
+
+    public static class OrderEventListener implements ApplicationListener<OrderEvent> {
+
+        private final List<String> orderIds = new ArrayList<>();
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            orderIds.add(event.getOrderId());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.MethodBeforeAdvice;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.AnnotatedEventListener;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class EventListenerMethodTest {
+
+    @Test
+    public void testEventListenerMethods() throws Exception {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:event-listener-method.xml");
+        AnnotatedEventListener listener = applicationContext.getBean("annotatedEventListener", AnnotatedEventListener.class);
+        // 一个 bean 通过多个方法监听不同类型的事件
+        assertThat(listener.getReceived()).containsExactly("refreshed");
+
+        listener.getReceived().clear();
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        assertThat(listener.getReceived()).containsExactlyInAnyOrder("custom", "private custom");
+
+        // prototype bean 不注册监听方法
+        AnnotatedEventListener prototype = applicationContext.getBean("prototypeListener", AnnotatedEventListener.class);
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        assertThat(prototype.getReceived()).isEmpty();
+        applicationContext.close();
+    }
+
+    @Test
+    public void testEventListenerMethodOnProxiedBean() throws Exception {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:event-listener-method-proxy.xml");
+        AnnotatedEventListener listener = applicationContext.getBean("annotatedEventListener", AnnotatedEventListener.class);
+        CountingBeforeAdvice advice = applicationContext.getBean("beforeAdvice", CountingBeforeAdvice.class);
+        assertThat(listener.getClass()).isNotEqualTo(AnnotatedEventListener.class);
+
+        // 监听方法通过代理对象调用，切面生效；private 方法在原始 bean 上调用
+        listener.getReceived().clear();
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        assertThat(listener.getReceived()).containsExactlyInAnyOrder("custom", "private custom");
+        assertThat(advice.count.get()).isEqualTo(1);
+        applicationContext.close();
+    }
+
+    public static class CountingBeforeAdvice implements MethodBeforeAdvice {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void before(Method method, Object[] args, Object target) throws Throwable {
+            count.incrementAndGet();
+        }
+    }
+}
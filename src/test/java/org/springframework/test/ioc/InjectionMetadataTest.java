@@ -0,0 +1,60 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.Autowired;
+import org.springframework.context.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.context.annotation.Value;
+import org.springframework.test.bean.Car;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+public class InjectionMetadataTest {
+
+    @Test
+    public void testInjectSuperclassFields() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        beanFactory.registerBeanDefinition("garage", new BeanDefinition(Garage.class));
+        beanFactory.registerBeanDefinition("anotherGarage", new BeanDefinition(Garage.class));
+        AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+        processor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(processor);
+
+        Garage garage = (Garage) beanFactory.getBean("garage");
+        // 父类中的 @Autowired 字段也会注入
+        assertThat(garage.getCar()).isSameAs(beanFactory.getBean("car"));
+        // @Value 的字符串转换为字段类型
+        assertThat(garage.getCapacity()).isEqualTo(8);
+
+        // 同一个类的第二个 bean 复用缓存的注入元数据
+        Garage anotherGarage = (Garage) beanFactory.getBean("anotherGarage");
+        assertThat(anotherGarage.getCar()).isSameAs(garage.getCar());
+        assertThat(anotherGarage.getCapacity()).isEqualTo(8);
+    }
+
+    public static class Building {
+
+        @Autowired
+        private Car car;
+
+        public Car getCar() {
+            return car;
+        }
+    }
+
+    public static class Garage extends Building {
+
+        @Value("8")
+        private int capacity;
+
+        public int getCapacity() {
+            return capacity;
+        }
+    }
+}
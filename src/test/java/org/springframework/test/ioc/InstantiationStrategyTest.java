@@ -0,0 +1,81 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
+import org.springframework.test.bean.Car;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+public class InstantiationStrategyTest {
+
+    @Test
+    public void testInstantiate() throws Exception {
+        SimpleInstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
+
+        BeanDefinition carDefinition = new BeanDefinition(Car.class);
+        Object car = instantiationStrategy.instantiate(carDefinition);
+        assertThat(car).isInstanceOf(Car.class);
+        assertThat(instantiationStrategy.instantiate(carDefinition)).isNotSameAs(car);
+
+        // 私有构造器同样可以实例化
+        assertThat(instantiationStrategy.instantiate(new BeanDefinition(PrivateConstructorBean.class)))
+                .isInstanceOf(PrivateConstructorBean.class);
+
+        // 构造器抛出的异常包装为 BeansException
+        assertThatThrownBy(() -> instantiationStrategy.instantiate(new BeanDefinition(FailingBean.class)))
+                .isInstanceOf(BeansException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> instantiationStrategy.instantiate(new BeanDefinition(AbstractBean.class)))
+                .isInstanceOf(BeansException.class);
+    }
+
+    @Test
+    public void testSupplierReusedWithoutReflection() throws Exception {
+        SimpleInstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
+        BeanDefinition beanDefinition = new BeanDefinition(CallerRecordingBean.class);
+
+        CallerRecordingBean first = (CallerRecordingBean) instantiationStrategy.instantiate(beanDefinition);
+        CallerRecordingBean second = (CallerRecordingBean) instantiationStrategy.instantiate(beanDefinition);
+
+        // 两次实例化由同一个生成的 Supplier 直接调用构造器，不经过反射
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.caller).isSameAs(first.caller);
+        assertThat(first.caller.getName()).doesNotStartWith("jdk.internal.reflect").doesNotStartWith("java.lang.reflect");
+    }
+
+    public static class CallerRecordingBean {
+
+        private static final StackWalker STACK_WALKER = StackWalker.getInstance(
+                Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE, StackWalker.Option.SHOW_HIDDEN_FRAMES));
+
+        // 直接调用构造器的类
+        private final Class<?> caller = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != CallerRecordingBean.class)
+                .findFirst()).orElseThrow().getDeclaringClass();
+    }
+
+    public static class PrivateConstructorBean {
+
+        private PrivateConstructorBean() {
+        }
+    }
+
+    public static class FailingBean {
+
+        public FailingBean() {
+            throw new IllegalStateException("constructor failed");
+        }
+    }
+
+    public abstract static class AbstractBean {
+    }
+}
@@ -0,0 +1,87 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/25
+ */
+public class ListenerRegistryConcurrencyTest {
+
+    private static final int WRITER_THREADS = 4;
+
+    private static final int PUBLISHER_THREADS = 4;
+
+    private static final int LISTENERS_PER_WRITER = 500;
+
+    @Test
+    public void testConcurrentAddRemoveAndPublish() throws Exception {
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        AtomicInteger deliveries = new AtomicInteger();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < WRITER_THREADS; w++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    // 每个线程注册一批监听器，并移除其中一半
+                    for (int i = 0; i < LISTENERS_PER_WRITER; i++) {
+                        ApplicationListener<CustomEvent> kept = event -> deliveries.incrementAndGet();
+                        ApplicationListener<CustomEvent> removed = event -> deliveries.incrementAndGet();
+                        multicaster.addApplicationListener(kept);
+                        multicaster.addApplicationListener(removed);
+                        multicaster.removeApplicationListener(removed);
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+        List<Thread> publishers = new ArrayList<>();
+        for (int p = 0; p < PUBLISHER_THREADS; p++) {
+            publishers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    while (writing.get()) {
+                        multicaster.multicastEvent(new CustomEvent(this));
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        publishers.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writing.set(false);
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        assertThat(errors).isEmpty();
+
+        // 没有丢失的注册，也没有残留的已移除监听器
+        deliveries.set(0);
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThat(deliveries.get()).isEqualTo(WRITER_THREADS * LISTENERS_PER_WRITER);
+    }
+}
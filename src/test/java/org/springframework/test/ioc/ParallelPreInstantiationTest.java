@@ -0,0 +1,106 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.PreInstantiationReport;
+import org.springframework.test.bean.A;
+import org.springframework.test.bean.B;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/23
+ */
+public class ParallelPreInstantiationTest {
+
+    @Test
+    public void testParallelPreInstantiateSingletons() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("slowOne", slowBeanDefinition(null));
+        beanFactory.registerBeanDefinition("slowTwo", slowBeanDefinition(null));
+        beanFactory.registerBeanDefinition("slowThree", slowBeanDefinition(null));
+        // 依赖 slowOne，关键路径为 slowOne -> dependent
+        beanFactory.registerBeanDefinition("dependent", slowBeanDefinition("slowOne"));
+
+        // 循环依赖由同一线程创建
+        PropertyValues propertyValuesForA = new PropertyValues();
+        propertyValuesForA.addPropertyValue(new PropertyValue("b", new BeanReference("b")));
+        beanFactory.registerBeanDefinition("a", new BeanDefinition(A.class, propertyValuesForA));
+        PropertyValues propertyValuesForB = new PropertyValues();
+        propertyValuesForB.addPropertyValue(new PropertyValue("a", new BeanReference("a")));
+        beanFactory.registerBeanDefinition("b", new BeanDefinition(B.class, propertyValuesForB));
+
+        beanFactory.setBootstrapExecutor(new ForkJoinPool(4));
+        beanFactory.preInstantiateSingletons();
+
+        PreInstantiationReport report = beanFactory.getPreInstantiationReport();
+        System.out.println(report);
+        assertThat(report.getSingletonCount()).isEqualTo(6);
+        assertThat(report.getCriticalPath()).containsExactly("slowOne", "dependent");
+        // 三个互不依赖的慢 bean 并行初始化，总耗时小于串行的 4 * 100ms
+        assertThat(report.getElapsedNanos()).isLessThan(350_000_000L);
+
+        SlowBean dependent = (SlowBean) beanFactory.getBean("dependent");
+        assertThat(dependent.getDependency()).isSameAs(beanFactory.getBean("slowOne"));
+        A a = (A) beanFactory.getBean("a");
+        B b = (B) beanFactory.getBean("b");
+        assertThat(a.getB()).isSameAs(b);
+        assertThat(b.getA()).isSameAs(a);
+    }
+
+    @Test
+    public void testLongDependencyChain() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        int length = 20_000;
+        // chain0 -> chain1 -> ... -> chain19999，从 chain0 开始的深度优先遍历深度等于链的长度
+        for (int i = 0; i < length; i++) {
+            PropertyValues propertyValues = new PropertyValues();
+            if (i + 1 < length) {
+                propertyValues.addPropertyValue(new PropertyValue("dependency", new BeanReference("chain" + (i + 1))));
+            }
+            beanFactory.registerBeanDefinition("chain" + i, new BeanDefinition(SlowBean.class, propertyValues));
+        }
+
+        beanFactory.setBootstrapExecutor(new ForkJoinPool(4));
+        beanFactory.preInstantiateSingletons();
+
+        PreInstantiationReport report = beanFactory.getPreInstantiationReport();
+        assertThat(report.getSingletonCount()).isEqualTo(length);
+        assertThat(report.getCriticalPath()).hasSize(length);
+        assertThat(((SlowBean) beanFactory.getBean("chain0")).getDependency()).isSameAs(beanFactory.getBean("chain1"));
+    }
+
+    private BeanDefinition slowBeanDefinition(String dependency) {
+        PropertyValues propertyValues = new PropertyValues();
+        if (dependency != null) {
+            propertyValues.addPropertyValue(new PropertyValue("dependency", new BeanReference(dependency)));
+        }
+        BeanDefinition beanDefinition = new BeanDefinition(SlowBean.class, propertyValues);
+        beanDefinition.setInitMethodName("init");
+        return beanDefinition;
+    }
+
+    public static class SlowBean {
+
+        private SlowBean dependency;
+
+        public void init() throws InterruptedException {
+            Thread.sleep(100);
+        }
+
+        public SlowBean getDependency() {
+            return dependency;
+        }
+
+        public void setDependency(SlowBean dependency) {
+            this.dependency = dependency;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/24
+ */
+public class PropertyAccessorTest {
+
+    @Test
+    public void testPropertyAccessor() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("name", "sedan"));
+        propertyValues.addPropertyValue(new PropertyValue("seats", "5"));
+        BeanDefinition beanDefinition = new BeanDefinition(Sedan.class, propertyValues);
+        beanDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("sedan", beanDefinition);
+
+        for (int i = 0; i < 3; i++) {
+            Sedan sedan = (Sedan) beanFactory.getBean("sedan");
+            // 有 setter 时通过 setter 设置
+            assertThat(sedan.getName()).isEqualTo("SEDAN");
+            // 没有 setter 时直接设置父类中声明的字段，并完成类型转换
+            assertThat(sedan.getSeats()).isEqualTo(5);
+        }
+    }
+
+    public static class Vehicle {
+
+        private int seats;
+
+        public int getSeats() {
+            return seats;
+        }
+    }
+
+    public static class Sedan extends Vehicle {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name.toUpperCase();
+        }
+    }
+}
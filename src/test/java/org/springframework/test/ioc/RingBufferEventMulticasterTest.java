@@ -0,0 +1,166 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.RingBufferApplicationEventMulticaster;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/26
+ */
+public class RingBufferEventMulticasterTest {
+
+    private static final int PRODUCERS = 4;
+
+    private static final int EVENTS_PER_PRODUCER = 20_000;
+
+    @Test
+    public void testMultipleProducers() throws Exception {
+        for (RingBufferApplicationEventMulticaster.WaitStrategy waitStrategy : RingBufferApplicationEventMulticaster.WaitStrategy.values()) {
+            RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+            // 缓冲区远小于事件数量，发布线程需要等待消费线程腾出空间
+            multicaster.setBufferSize(64);
+            multicaster.setWaitStrategy(waitStrategy);
+
+            int[] lastSequence = new int[PRODUCERS];
+            AtomicInteger outOfOrder = new AtomicInteger();
+            AtomicInteger received = new AtomicInteger();
+            multicaster.addApplicationListener(new ApplicationListener<TelemetryEvent>() {
+                @Override
+                public void onApplicationEvent(TelemetryEvent event) {
+                    // 只有一个消费线程，同一个发布线程的事件按发布顺序处理
+                    if (event.sequence != lastSequence[event.producer] + 1) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    lastSequence[event.producer] = event.sequence;
+                    received.incrementAndGet();
+                }
+            });
+
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                producers.add(new Thread(() -> {
+                    for (int i = 1; i <= EVENTS_PER_PRODUCER; i++) {
+                        multicaster.multicastEvent(new TelemetryEvent(this, producer, i));
+                    }
+                }));
+            }
+            producers.forEach(Thread::start);
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            // 销毁时处理完缓冲区中剩余的事件
+            multicaster.destroy();
+
+            assertThat(received.get()).as(waitStrategy.name()).isEqualTo(PRODUCERS * EVENTS_PER_PRODUCER);
+            assertThat(outOfOrder.get()).isZero();
+            assertThat(multicaster.getBacklog()).isZero();
+        }
+    }
+
+    @Test
+    public void testApplicationEventMulticasterBean() throws Exception {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:ring-buffer-event-multicaster.xml");
+        Object multicaster = applicationContext.getBean("applicationEventMulticaster");
+        assertThat(multicaster).isInstanceOf(RingBufferApplicationEventMulticaster.class);
+
+        AtomicInteger received = new AtomicInteger();
+        ((RingBufferApplicationEventMulticaster) multicaster).addApplicationListener(new ApplicationListener<CustomEvent>() {
+            @Override
+            public void onApplicationEvent(CustomEvent event) {
+                received.incrementAndGet();
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            applicationContext.publishEvent(new CustomEvent(applicationContext));
+        }
+        applicationContext.close();
+        assertThat(received.get()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testListenerPublishesFromConsumerThread() throws Exception {
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        multicaster.setBufferSize(2);
+        AtomicInteger nested = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+        multicaster.addApplicationListener(new ApplicationListener<TelemetryEvent>() {
+            @Override
+            public void onApplicationEvent(TelemetryEvent event) {
+                // 消费线程中发布的事件同步广播，缓冲区已满也不会等待自己腾出空间
+                if (event.producer == 0) {
+                    multicaster.multicastEvent(new TelemetryEvent(this, 1, event.sequence));
+                } else {
+                    nested.incrementAndGet();
+                    done.countDown();
+                }
+            }
+        });
+        for (int i = 1; i <= 1000; i++) {
+            multicaster.multicastEvent(new TelemetryEvent(this, 0, i));
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        multicaster.destroy();
+        assertThat(nested.get()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testPublishConcurrentlyWithDestroy() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+            multicaster.setBufferSize(8);
+            AtomicInteger received = new AtomicInteger();
+            multicaster.addApplicationListener(new ApplicationListener<TelemetryEvent>() {
+                @Override
+                public void onApplicationEvent(TelemetryEvent event) {
+                    received.incrementAndGet();
+                }
+            });
+            multicaster.multicastEvent(new TelemetryEvent(this, 0, 0));
+
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                producers.add(new Thread(() -> {
+                    for (int i = 1; i <= 1000; i++) {
+                        multicaster.multicastEvent(new TelemetryEvent(this, producer, i));
+                    }
+                }));
+            }
+            producers.forEach(Thread::start);
+            // 销毁与发布并发进行：关闭前领取序号的事件由消费线程处理，之后的事件同步广播，不会丢失也不会阻塞
+            multicaster.destroy();
+            for (Thread producer : producers) {
+                producer.join(10_000);
+                assertThat(producer.isAlive()).isFalse();
+            }
+            assertThat(received.get()).isEqualTo(PRODUCERS * 1000 + 1);
+            assertThat(multicaster.getBacklog()).isZero();
+        }
+    }
+
+    static class TelemetryEvent extends ApplicationEvent {
+
+        final int producer;
+
+        final int sequence;
+
+        TelemetryEvent(Object source, int producer, int sequence) {
+            super(source);
+            this.producer = producer;
+            this.sequence = sequence;
+        }
+    }
+}
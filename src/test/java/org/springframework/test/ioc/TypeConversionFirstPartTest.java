@@ -59,4 +59,26 @@ public class TypeConversionFirstPartTest {
         assertThat(flag).isTrue();
     }
 
+    @Test
+    public void testConverterLookupCache() throws Exception {
+        GenericConversionService conversionService = new GenericConversionService();
+        // 找不到转换器的结果也会被缓存，注册新的转换器后缓存失效
+        assertThat(conversionService.canConvert(String.class, Integer.class)).isFalse();
+        conversionService.addConverter(new CharSequenceToIntegerConverter());
+
+        // 源类型实现的接口也参与匹配
+        assertThat(conversionService.canConvert(String.class, Integer.class)).isTrue();
+        assertThat(conversionService.canConvert(StringBuilder.class, Integer.class)).isTrue();
+        Integer intNum = conversionService.convert("8888", Integer.class);
+        assertThat(intNum).isEqualTo(8888);
+        assertThat(conversionService.canConvert(String.class, Boolean.class)).isFalse();
+    }
+
+    private static class CharSequenceToIntegerConverter implements Converter<CharSequence, Integer> {
+
+        @Override
+        public Integer convert(CharSequence source) {
+            return Integer.valueOf(source.toString());
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package org.springframework.test.ioc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AsyncCapableApplicationListener;
+import org.springframework.context.event.EventDispatchMetrics;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.lang.ref.Reference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author zhenghong
+ * @date 2025/6/27
+ */
+public class WeakListenerRegistrationTest {
+
+    @Test
+    public void testCollectedListenersArePurged() throws Exception {
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        EventDispatchMetrics metrics = new EventDispatchMetrics();
+        multicaster.setDispatchMetrics(metrics);
+        AtomicInteger strongDeliveries = new AtomicInteger();
+        AtomicInteger weakDeliveries = new AtomicInteger();
+        CountingListener strongListener = new CountingListener(strongDeliveries);
+        multicaster.addApplicationListener(strongListener);
+
+        // 模拟生命周期较短的监听器：注册后不再持有引用
+        for (int i = 0; i < 10; i++) {
+            multicaster.addWeakApplicationListener(new CountingListener(weakDeliveries));
+        }
+        CountingListener retained = new CountingListener(weakDeliveries);
+        multicaster.addWeakApplicationListener(retained);
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThat(strongDeliveries.get()).isEqualTo(1);
+
+        for (int i = 0; i < 100 && multicaster.getCollectedListenerCount() < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+            multicaster.multicastEvent(new CustomEvent(this));
+        }
+        assertThat(multicaster.getCollectedListenerCount()).isEqualTo(10);
+        assertThat(metrics.getCollectedListenerCount()).isEqualTo(10);
+
+        // 仍被引用的弱注册监听器和普通监听器不受影响
+        weakDeliveries.set(0);
+        strongDeliveries.set(0);
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThat(weakDeliveries.get()).isEqualTo(1);
+        assertThat(strongDeliveries.get()).isEqualTo(1);
+
+        // 弱注册的监听器也可以被主动移除
+        multicaster.removeApplicationListener(retained);
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertThat(weakDeliveries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWeakListenerKeepsSyncPreference() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        AtomicReference<Thread> syncThread = new AtomicReference<>();
+        AtomicReference<Thread> asyncThread = new AtomicReference<>();
+        AsyncCapableApplicationListener<CustomEvent> syncListener = new AsyncCapableApplicationListener<>() {
+            @Override
+            public boolean isAsync() {
+                return false;
+            }
+
+            @Override
+            public void onApplicationEvent(CustomEvent event) {
+                syncThread.set(Thread.currentThread());
+            }
+        };
+        ApplicationListener<CustomEvent> asyncListener = event -> asyncThread.set(Thread.currentThread());
+        multicaster.addWeakApplicationListener(syncListener);
+        multicaster.addWeakApplicationListener(asyncListener);
+
+        // 弱引用注册转发监听器自己的同步、异步选择
+        multicaster.multicastEvent(new CustomEvent(this));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(syncThread.get()).isSameAs(Thread.currentThread());
+        assertThat(asyncThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+        Reference.reachabilityFence(syncListener);
+        Reference.reachabilityFence(asyncListener);
+    }
+
+    static class CountingListener implements ApplicationListener<CustomEvent> {
+
+        private final AtomicInteger deliveries;
+
+        CountingListener(AtomicInteger deliveries) {
+            this.deliveries = deliveries;
+        }
+
+        @Override
+        public void onApplicationEvent(CustomEvent event) {
+            deliveries.incrementAndGet();
+        }
+    }
+}